@@ -0,0 +1,63 @@
+package com.synchrony.userprofileintegration.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synchrony.userprofileintegration.dto.ImageDTO;
+import com.synchrony.userprofileintegration.dto.UserProfileDTO;
+import com.synchrony.userprofileintegration.dto.UserResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing the response DTOs with an ObjectMapper configured the way Spring MVC configures its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int images;
+
+    private ObjectMapper objectMapper;
+    private UserResponseDTO user;
+    private UserProfileDTO profile;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        user = new UserResponseDTO(1L, "alice");
+        List<ImageDTO> imageDTOs = new ArrayList<>(images);
+        for (long i = 1; i <= images; i++) {
+            imageDTOs.add(new ImageDTO(i, "deletehash" + i, "https://i.imgur.com/" + i + ".png"));
+        }
+        profile = new UserProfileDTO(1L, "alice", imageDTOs, null);
+    }
+
+    @Benchmark
+    public byte[] userResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] userProfile() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(profile);
+    }
+}
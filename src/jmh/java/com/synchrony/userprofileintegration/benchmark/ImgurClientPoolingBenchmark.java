@@ -0,0 +1,69 @@
+package com.synchrony.userprofileintegration.benchmark;
+
+import com.synchrony.userprofileintegration.ImgurStub;
+import com.synchrony.userprofileintegration.config.ImgurClientConfig;
+import com.synchrony.userprofileintegration.service.ImgurService;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures an Imgur delete against a local stub through the pooled client, which keeps connections alive,
+ * and through a client that opens a new connection per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImgurClientPoolingBenchmark {
+
+    @Param({"true", "false"})
+    private boolean pooled;
+
+    private ImgurStub stub;
+    private CloseableHttpClient httpClient;
+    private ImgurService imgurService;
+
+    @Setup
+    public void setUp() throws IOException {
+        stub = ImgurStub.start();
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(ImgurClientConfig.connectionManager(10, 10, Duration.ofSeconds(2), 8192));
+        if (!pooled) {
+            builder.setConnectionReuseStrategy((request, response, context) -> false);
+        }
+        httpClient = builder.build();
+        imgurService = stub.imgurService(ImgurClientConfig.restTemplate(
+                httpClient, Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(5)),
+                ImgurStub.passThroughGuard());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        httpClient.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public boolean delete() {
+        return imgurService.deleteImage("benchmark");
+    }
+}
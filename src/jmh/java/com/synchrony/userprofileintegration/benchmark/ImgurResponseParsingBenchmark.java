@@ -0,0 +1,46 @@
+package com.synchrony.userprofileintegration.benchmark;
+
+import com.synchrony.userprofileintegration.dto.ImageResponseDTO;
+import com.synchrony.userprofileintegration.dto.ImgurApiResponseDTO;
+import com.synchrony.userprofileintegration.service.ImgurService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures extracting the link and delete hash from a typical Imgur upload response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImgurResponseParsingBenchmark {
+
+    // Shape and size of a real upload response
+    private final byte[] uploadResponse = """
+            {"data":{"id":"orunSTu","title":null,"description":null,"datetime":1495556889,"type":"image/gif",\
+            "animated":false,"width":1,"height":1,"size":42,"views":0,"bandwidth":0,"vote":null,\
+            "favorite":false,"nsfw":null,"section":null,"account_url":null,"account_id":0,"is_ad":false,\
+            "in_most_viral":false,"tags":[],"ad_type":0,"ad_url":"","in_gallery":false,\
+            "deletehash":"x70po4w7BVvSUzZ","name":"","link":"https://i.imgur.com/orunSTu.gif"},\
+            "success":true,"status":200}""".getBytes(StandardCharsets.UTF_8);
+
+    @Benchmark
+    public ImageResponseDTO parseUploadResponse() throws IOException {
+        ImgurApiResponseDTO response = ImgurService.parseResponse(new ByteArrayInputStream(uploadResponse));
+        return ImgurService.toImageResponse(response);
+    }
+}
@@ -0,0 +1,51 @@
+package com.synchrony.userprofileintegration.benchmark;
+
+import com.synchrony.userprofileintegration.service.ImgurService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.util.MultiValueMap;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the Base64 form body sent to Imgur for an upload, for small to large images.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImgurUploadEncodingBenchmark {
+
+    @Param({"16384", "1048576", "10485760"})
+    private int imageBytes;
+
+    private Resource image;
+
+    @Setup
+    public void setUp() {
+        byte[] bytes = new byte[imageBytes];
+        new Random(42).nextBytes(bytes);
+        image = new ByteArrayResource(bytes);
+    }
+
+    @Benchmark
+    public HttpEntity<MultiValueMap<String, String>> base64Entity() throws IOException {
+        return ImgurService.base64Entity(image, "benchmark-client");
+    }
+}
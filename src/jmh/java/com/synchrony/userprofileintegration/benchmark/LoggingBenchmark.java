@@ -0,0 +1,89 @@
+package com.synchrony.userprofileintegration.benchmark;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.net.URISyntaxException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency a request thread pays for logging a profile fetch under the synchronous default
+ * configuration and the asynchronous one of the prod profile, with 8 threads logging concurrently.
+ * Each operation logs the controller's and the service's lines around some request work, with a correlation ID
+ * in the thread context. Run with the GC profiler's allocation rates to compare the garbage produced per request.
+ * Both configurations write to target/jmh-logs; the Console appender is removed so that output does not
+ * interleave with JMH's own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String APP_LOGGER = "com.synchrony.userprofileintegration";
+    // Roughly the CPU time of a cached profile lookup, so the async background thread is not swamped
+    private static final long REQUEST_WORK_TOKENS = 2_000;
+
+    @Param({"log4j2.xml", "log4j2-async.xml"})
+    private String config;
+
+    private LoggerContext context;
+    private Logger logger;
+
+    @Setup
+    public void setUp() throws URISyntaxException {
+        System.setProperty("log.dir", "target/jmh-logs");
+        context = new LoggerContext("logging-benchmark");
+        context.setConfigLocation(LoggingBenchmark.class.getResource("/" + config).toURI());
+        context.start();
+        Configuration configuration = context.getConfiguration();
+        configuration.getLoggerConfig(APP_LOGGER).removeAppender("Console");
+        configuration.getRootLogger().removeAppender("Console");
+        context.updateLoggers();
+        logger = context.getLogger(APP_LOGGER + ".controller.UserController");
+    }
+
+    @TearDown
+    public void tearDown() {
+        // Stopping drains the ring buffer of the async loggers first
+        context.stop();
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+        String correlationId = UUID.randomUUID().toString();
+        String username = "user-" + Thread.currentThread().getId();
+    }
+
+    @Benchmark
+    public void profileFetch(Request request) {
+        ThreadContext.put("correlationId", request.correlationId);
+        try {
+            logger.info("Fetching profile for user: {}", request.username);
+            Blackhole.consumeCPU(REQUEST_WORK_TOKENS);
+            logger.info("Loaded profile page for user: {}", request.username);
+        } finally {
+            ThreadContext.remove("correlationId");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.synchrony.userprofileintegration.benchmark;
+
+import com.synchrony.userprofileintegration.dto.ProfileRowDTO;
+import com.synchrony.userprofileintegration.dto.UserProfileDTO;
+import com.synchrony.userprofileintegration.service.ProfileService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping the rows of a profile query to the profile DTO, for users with few to very many images.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProfileMappingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int images;
+
+    private List<ProfileRowDTO> rows;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(images);
+        for (long i = 1; i <= images; i++) {
+            rows.add(new ProfileRowDTO(1L, "alice", 0L, i, "deletehash" + i, "https://i.imgur.com/" + i + ".png"));
+        }
+    }
+
+    @Benchmark
+    public UserProfileDTO assemble() {
+        return ProfileService.assemble(rows, images);
+    }
+}
@@ -0,0 +1,31 @@
+package com.synchrony.userprofileintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Decides which users hold the ADMIN role. Users carry no role of their own, so administrators are configured
+ * by username; they keep the USER role as well, whether they authenticate with HTTP Basic or a bearer token.
+ */
+@Component
+public class AdminAccounts {
+
+    public static final String ADMIN = "ADMIN";
+    public static final String USER = "USER";
+
+    private final Set<String> usernames;
+
+    public AdminAccounts(@Value("${auth.admin-usernames:}") Set<String> usernames) {
+        this.usernames = Set.copyOf(usernames);
+    }
+
+    /**
+     * @param username an authenticated username.
+     * @return the roles of the user, without the ROLE_ prefix.
+     */
+    public String[] roles(String username) {
+        return usernames.contains(username) ? new String[]{USER, ADMIN} : new String[]{USER};
+    }
+}
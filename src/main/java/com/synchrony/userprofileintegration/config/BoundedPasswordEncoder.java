@@ -0,0 +1,114 @@
+package com.synchrony.userprofileintegration.config;
+
+import exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the hashing and verification of a delegate {@link PasswordEncoder} on a dedicated bounded executor,
+ * so request threads wait for a hashing thread instead of burning a core each.
+ * When the executor is full, the call fails fast with {@link PasswordHashingRejectedException}.
+ * Callers already running on a hashing thread, such as bulk imports, hash inline.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final ThreadLocal<Boolean> HASHING_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private final PasswordEncoder delegate;
+    private final AsyncTaskExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, AsyncTaskExecutor executor, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.encodeTimer = hashingTimer("encode", meterRegistry);
+        this.matchesTimer = hashingTimer("matches", meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashing calls rejected because the hashing executor was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Marks the threads of the hashing executor, so work already running there is not queued again.
+     */
+    public static TaskDecorator hashingThreadMarker() {
+        return task -> () -> {
+            HASHING_THREAD.set(true);
+            try {
+                task.run();
+            } finally {
+                HASHING_THREAD.remove();
+            }
+        };
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the stored hash's prefix and cost, no hashing involved
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T call(Callable<T> task) {
+        if (HASHING_THREAD.get()) {
+            return callInline(task);
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException(e);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Time spent hashing on the hashing thread, excluding the wait for a free thread
+    private static Timer hashingTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("password.hashing")
+                .description("BCrypt hashing and verification time")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static <T> T callInline(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
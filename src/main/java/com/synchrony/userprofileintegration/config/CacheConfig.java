@@ -0,0 +1,30 @@
+package com.synchrony.userprofileintegration.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configures the bounded, TTL-based caches enabled by {@code @EnableCaching}.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String PROFILES = "profiles";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.profiles.max-size:10000}") long maxSize,
+                                     @Value("${cache.profiles.ttl:PT5M}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PROFILES);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,75 @@
+package com.synchrony.userprofileintegration.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Tags every request with a correlation ID, kept in the Log4j2 thread context (MDC) under {@code correlationId}
+ * while the request is handled, so each log line can be traced back to its request.
+ * The ID is taken from the {@code X-Correlation-Id} request header when the caller sends a well-formed one,
+ * generated otherwise, and returned in the same response header.
+ * Runs before the security filters, so their log lines carry the ID too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String CONTEXT_KEY = "correlationId";
+
+    // Caller-supplied IDs end up in log lines, so anything that could forge or split a line is replaced
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String correlationId = request.getHeader(HEADER);
+        if (correlationId == null || !VALID_ID.matcher(correlationId).matches()) {
+            correlationId = UUID.randomUUID().toString();
+        }
+        response.setHeader(HEADER, correlationId);
+        ThreadContext.put(CONTEXT_KEY, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ThreadContext.remove(CONTEXT_KEY);
+        }
+    }
+
+    /**
+     * Copies the thread context of the thread submitting a task to the thread running it, so log lines of async
+     * uploads and batch calls keep the correlation ID of their request. The running thread's own context is
+     * restored afterwards, as a task may also run on the submitting thread when its executor is saturated.
+     */
+    public static TaskDecorator threadContextPropagator() {
+        return task -> {
+            Map<String, String> submitterContext = ThreadContext.getImmutableContext();
+            return () -> {
+                Map<String, String> ownContext = ThreadContext.getImmutableContext();
+                ThreadContext.clearMap();
+                ThreadContext.putAll(submitterContext);
+                try {
+                    task.run();
+                } finally {
+                    ThreadContext.clearMap();
+                    ThreadContext.putAll(ownContext);
+                }
+            };
+        };
+    }
+}
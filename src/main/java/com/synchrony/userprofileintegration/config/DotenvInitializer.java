@@ -8,6 +8,10 @@ import org.springframework.context.ConfigurableApplicationContext;
 public class DotenvInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
     @Override
     public void initialize(ConfigurableApplicationContext applicationContext) {
+        // Deployments that pass all settings through the environment can skip the file lookup
+        if (!applicationContext.getEnvironment().getProperty("dotenv.enabled", Boolean.class, true)) {
+            return;
+        }
         // Load the .env file
         Dotenv dotenv = Dotenv.configure()
                 .ignoreIfMissing()
@@ -0,0 +1,40 @@
+package com.synchrony.userprofileintegration.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.List;
+
+/**
+ * Startup settings of the faststart profile. The beans behind the OpenAPI document and the Swagger UI are
+ * made lazy, so they are only created by the first request to /v3/api-docs or /swagger-ui rather than
+ * on every startup; the API itself does not need them.
+ */
+@Configuration
+@Profile("faststart")
+public class FastStartConfig {
+
+    private static final List<String> LAZY_BEAN_PREFIXES = List.of("org.springdoc.", OpenAPIConfig.class.getName());
+
+    // Static, as it must run before the other beans of this class could be created
+    @Bean
+    public static BeanFactoryPostProcessor lazyApiDocumentation() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                // @Bean methods have no bean class of their own; they belong to their configuration class
+                String className = definition.getBeanClassName();
+                String factoryBeanName = definition.getFactoryBeanName();
+                if (className == null && factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+                    className = beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+                }
+                if (className != null && LAZY_BEAN_PREFIXES.stream().anyMatch(className::startsWith)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+}
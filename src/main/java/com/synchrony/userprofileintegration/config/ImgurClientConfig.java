@@ -0,0 +1,122 @@
+package com.synchrony.userprofileintegration.config;
+
+import com.synchrony.userprofileintegration.service.ImgurRateLimiter;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.DefaultHttpResponseParserFactory;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.config.CharCodingConfig;
+import org.apache.hc.core5.http.config.Http1Config;
+import org.apache.hc.core5.http.impl.io.DefaultHttpRequestWriterFactory;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Configures the pooled, keep-alive HTTP client used to talk to Imgur.
+ * Connections are reused across uploads and deletes, and every call is bounded by
+ * a pool-acquire timeout, a connect timeout and a per-operation response timeout.
+ * Every response's rate limit headers are passed on to the {@link ImgurRateLimiter}.
+ */
+@Configuration
+public class ImgurClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager imgurConnectionManager(
+            @Value("${imgur.http.max-connections:50}") int maxConnections,
+            @Value("${imgur.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${imgur.http.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${imgur.upload.chunk-size:8192}") int chunkSize) {
+        return connectionManager(maxConnections, maxConnectionsPerRoute, connectTimeout, chunkSize);
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient imgurHttpClient(PoolingHttpClientConnectionManager imgurConnectionManager,
+                                               ImgurRateLimiter imgurRateLimiter,
+                                               @Value("${imgur.http.keep-alive:PT30S}") Duration keepAlive) {
+        return httpClient(imgurConnectionManager, imgurRateLimiter, keepAlive);
+    }
+
+    @Bean
+    public RestTemplate imgurRestTemplate(CloseableHttpClient imgurHttpClient,
+                                          @Value("${imgur.http.pool-acquire-timeout:PT1S}") Duration poolAcquireTimeout,
+                                          @Value("${imgur.http.upload-timeout:PT30S}") Duration uploadTimeout,
+                                          @Value("${imgur.http.delete-timeout:PT5S}") Duration deleteTimeout) {
+        return restTemplate(imgurHttpClient, poolAcquireTimeout, uploadTimeout, deleteTimeout);
+    }
+
+    public static PoolingHttpClientConnectionManager connectionManager(int maxConnections, int maxConnectionsPerRoute,
+                                                                       Duration connectTimeout, int chunkSize) {
+        // Request bodies are streamed with chunked encoding, so size the chunks like the old client did
+        Http1Config http1Config = Http1Config.custom()
+                .setChunkSizeHint(chunkSize)
+                .build();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setConnectionFactory(new ManagedHttpClientConnectionFactory(http1Config, CharCodingConfig.DEFAULT,
+                        DefaultHttpRequestWriterFactory.INSTANCE, DefaultHttpResponseParserFactory.INSTANCE))
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .build())
+                .build();
+    }
+
+    public static CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                 ImgurRateLimiter rateLimiter, Duration keepAlive) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAlive.toMillis()))
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAlive.toMillis()))
+                .evictExpiredConnections()
+                // Retries are decided by the upstream guard, which knows which calls are safe to repeat
+                .disableAutomaticRetries()
+                // Read at the HTTP client level: a RestTemplate interceptor would buffer the streamed request bodies
+                .addResponseInterceptorLast((response, entity, context) -> rateLimiter.update(response.getCode(), name -> {
+                    Header header = response.getFirstHeader(name);
+                    return header != null ? header.getValue() : null;
+                }))
+                .build();
+    }
+
+    public static RestTemplate restTemplate(HttpClient httpClient, Duration poolAcquireTimeout,
+                                            Duration uploadTimeout, Duration deleteTimeout) {
+        RequestConfig uploadConfig = requestConfig(poolAcquireTimeout, uploadTimeout);
+        RequestConfig deleteConfig = requestConfig(poolAcquireTimeout, deleteTimeout);
+
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient) {
+            @Override
+            protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+                HttpClientContext context = HttpClientContext.create();
+                context.setRequestConfig(HttpMethod.DELETE.equals(httpMethod) ? deleteConfig : uploadConfig);
+                return context;
+            }
+        };
+        // Stream request bodies to the connection instead of buffering whole uploads in memory
+        requestFactory.setBufferRequestBody(false);
+        return new RestTemplate(requestFactory);
+    }
+
+    private static RequestConfig requestConfig(Duration poolAcquireTimeout, Duration responseTimeout) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeout.toMillis()))
+                .setResponseTimeout(Timeout.ofMilliseconds(responseTimeout.toMillis()))
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.synchrony.userprofileintegration.config;
+
+import com.synchrony.userprofileintegration.service.ImgurRateLimiter;
+import com.synchrony.userprofileintegration.service.RetryBudget;
+import com.synchrony.userprofileintegration.service.UpstreamGuard;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configures the rate limiter, circuit breaker, bulkhead and retry budget that guard every Imgur call.
+ */
+@Configuration
+public class ImgurResilienceConfig {
+
+    private static final Logger logger = LogManager.getLogger(ImgurResilienceConfig.class);
+
+    @Bean
+    public CircuitBreaker imgurCircuitBreaker(
+            @Value("${imgur.resilience.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${imgur.resilience.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${imgur.resilience.minimum-calls:10}") int minimumCalls,
+            @Value("${imgur.resilience.open-duration:PT30S}") Duration openDuration,
+            @Value("${imgur.resilience.half-open-calls:3}") int halfOpenCalls) {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("imgur", CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .recordException(UpstreamGuard::isUpstreamFailure)
+                .build());
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                logger.warn("Imgur circuit breaker: {}", event.getStateTransition()));
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead imgurBulkhead(@Value("${imgur.resilience.max-concurrent-calls:20}") int maxConcurrentCalls,
+                                  @Value("${imgur.resilience.max-wait:PT0.1S}") Duration maxWait) {
+        return Bulkhead.of("imgur", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+    }
+
+    @Bean
+    public ImgurRateLimiter imgurRateLimiter(MeterRegistry meterRegistry,
+                                             @Value("${imgur.rate-limit.enabled:true}") boolean enabled,
+                                             @Value("${imgur.rate-limit.burst:10}") int burst,
+                                             @Value("${imgur.rate-limit.upload-reserve:50}") int uploadReserve,
+                                             @Value("${imgur.rate-limit.delete-max-wait:PT10S}") Duration deleteMaxWait,
+                                             @Value("${imgur.rate-limit.upload-max-wait:PT2S}") Duration uploadMaxWait,
+                                             @Value("${imgur.rate-limit.client-window:P1D}") Duration clientWindow) {
+        ImgurRateLimiter rateLimiter = enabled
+                ? new ImgurRateLimiter(burst, uploadReserve, deleteMaxWait, uploadMaxWait, clientWindow)
+                : ImgurRateLimiter.unlimited();
+        Gauge.builder("imgur.ratelimit.remaining", rateLimiter, ImgurRateLimiter::remainingCredits)
+                .description("Imgur credits left before the limit resets, as last reported by Imgur")
+                .register(meterRegistry);
+        Gauge.builder("imgur.ratelimit.limit", rateLimiter, ImgurRateLimiter::creditLimit)
+                .description("Imgur credit limit, as last reported by Imgur")
+                .register(meterRegistry);
+        return rateLimiter;
+    }
+
+    @Bean
+    public UpstreamGuard imgurUpstreamGuard(CircuitBreaker imgurCircuitBreaker, Bulkhead imgurBulkhead,
+                                            ImgurRateLimiter imgurRateLimiter,
+                                            @Value("${imgur.resilience.retry-ratio:0.2}") double retryRatio,
+                                            @Value("${imgur.resilience.max-saved-retries:10}") int maxSavedRetries,
+                                            @Value("${imgur.resilience.max-attempts:3}") int maxAttempts,
+                                            @Value("${imgur.resilience.initial-backoff:PT0.1S}") Duration initialBackoff,
+                                            @Value("${imgur.resilience.max-backoff:PT1S}") Duration maxBackoff) {
+        return new UpstreamGuard(imgurCircuitBreaker, imgurBulkhead, imgurRateLimiter,
+                new RetryBudget(retryRatio, maxSavedRetries), maxAttempts, initialBackoff, maxBackoff);
+    }
+}
@@ -0,0 +1,79 @@
+package com.synchrony.userprofileintegration.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configures password hashing: a delegating encoder whose BCrypt cost is configurable,
+ * run on a bounded executor that rejects work when overloaded.
+ * Hashing is CPU-bound, so the pool defaults to one thread per available core.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    private static final String BCRYPT = "bcrypt";
+
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor(@Value("${password.hashing.threads:0}") int threads,
+                                                       @Value("${password.hashing.queue-capacity:100}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setTaskDecorator(BoundedPasswordEncoder.hashingThreadMarker());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${password.hashing.bcrypt-cost:10}") int bcryptCost,
+                                           @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor,
+                                           MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder(bcryptCost), passwordHashExecutor, meterRegistry);
+    }
+
+    /**
+     * Builds the encoder that stores hashes as {bcrypt}... at the given cost.
+     * Hashes of another cost, or legacy hashes without an {id} prefix, are reported by upgradeEncoding,
+     * so they are rehashed on the next successful login.
+     */
+    public static PasswordEncoder delegatingPasswordEncoder(int bcryptCost) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT,
+                Map.of(BCRYPT, new CostAwareBCryptPasswordEncoder(bcryptCost)));
+        // Hashes written before the {id} prefix was introduced are plain BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+
+    /**
+     * BCrypt only reports weaker hashes for upgrade; this also reports stronger ones, so lowering
+     * the cost takes effect on the next login too.
+     */
+    private static final class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private final String costSegment;
+
+        private CostAwareBCryptPasswordEncoder(int cost) {
+            super(cost);
+            this.costSegment = String.format("$%02d$", cost);
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            // $2a$10$... : the cost sits between the second and third '$'
+            return encodedPassword != null && !encodedPassword.startsWith(costSegment, 3);
+        }
+    }
+}
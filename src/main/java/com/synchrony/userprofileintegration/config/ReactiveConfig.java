@@ -0,0 +1,106 @@
+package com.synchrony.userprofileintegration.config;
+
+import com.synchrony.userprofileintegration.service.ImgurRateLimiter;
+import io.netty.channel.ChannelOption;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Infrastructure of the reactive variant of the image API, active when the application runs as a reactive
+ * web application (the reactive Spring profile). Requests are served by Netty's event loops, Imgur is called
+ * through a non-blocking WebClient and images are stored through R2DBC in the same H2 database JPA uses.
+ * <p>
+ * R2DBC auto-configuration is excluded so its transaction manager does not compete with the JPA one;
+ * the database client and the transactional operator are declared here instead. Their connection pool is not
+ * a bean: the JDBC DataSource, and with it the JPA repositories, backs off when a connection factory bean exists.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    // Logs in with the JDBC credentials, as both open the same database
+    public ReactiveConfig(@Value("${reactive.r2dbc.url}") String url,
+                          @Value("${spring.datasource.username:}") String username,
+                          @Value("${spring.datasource.password:}") String password,
+                          @Value("${reactive.r2dbc.pool-size:10}") int poolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .build());
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    // Netty, rather than Tomcat's servlet adapter, so a few event loop threads serve every connection
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    // The transaction manager is not a bean: a second one would make @Transactional on the JPA services ambiguous
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    /**
+     * WebClient for Imgur. Connections are pooled; once they are all in use, further calls wait in a bounded
+     * queue and are then rejected, so a slow Imgur cannot make pending uploads pile up without limit.
+     * Responses' rate limit headers are passed on to the shared {@link ImgurRateLimiter}.
+     */
+    @Bean
+    public WebClient imgurWebClient(WebClient.Builder builder, ImgurRateLimiter imgurRateLimiter,
+                                    @Value("${imgur.reactive.max-connections:1000}") int maxConnections,
+                                    @Value("${imgur.reactive.pending-acquire-max:5000}") int pendingAcquireMax,
+                                    @Value("${imgur.http.pool-acquire-timeout:PT1S}") Duration poolAcquireTimeout,
+                                    @Value("${imgur.http.connect-timeout:PT2S}") Duration connectTimeout,
+                                    @Value("${imgur.http.keep-alive:PT30S}") Duration keepAlive) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("imgur")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(poolAcquireTimeout)
+                .maxIdleTime(keepAlive)
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(ExchangeFilterFunction.ofResponseProcessor(response -> {
+                    imgurRateLimiter.update(response.statusCode().value(), response.headers().asHttpHeaders()::getFirst);
+                    return Mono.just(response);
+                }))
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.synchrony.userprofileintegration.config;
+
+import com.synchrony.userprofileintegration.service.R2dbcUserDetailsService;
+import com.synchrony.userprofileintegration.service.TokenService;
+import exception.PasswordHashingRejectedException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpBasicServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import reactor.core.publisher.Mono;
+
+/**
+ * Security of the reactive variant of the API, matching {@link SecurityConfig}: bearer tokens issued by
+ * {@link TokenService} are checked first, with HTTP Basic against the users table as a fallback.
+ * Either way the roles come from the stored user, so a token of a user that no longer exists is rejected.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Bean
+    public SecurityWebFilterChain reactiveSecurityFilterChain(ServerHttpSecurity http, TokenService tokenService,
+                                                              R2dbcUserDetailsService userDetailsService,
+                                                              ReactiveAuthenticationManager basicAuthenticationManager) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/api/register", "/api/login").permitAll()
+                        .pathMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .anyExchange().authenticated())
+                .addFilterAt(bearerTokenFilter(tokenService, userDetailsService), SecurityWebFiltersOrder.AUTHENTICATION)
+                .httpBasic(basic -> basic
+                        .authenticationManager(basicAuthenticationManager)
+                        .authenticationEntryPoint(entryPoint()))
+                .build();
+    }
+
+    @Bean
+    public ReactiveAuthenticationManager basicAuthenticationManager(R2dbcUserDetailsService userDetailsService,
+                                                                    PasswordEncoder passwordEncoder) {
+        UserDetailsRepositoryReactiveAuthenticationManager manager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        // Password checks block on the hashing pool, so the manager runs them on its bounded elastic scheduler
+        manager.setPasswordEncoder(passwordEncoder);
+        // Rehash the stored password whenever the encoder reports it as outdated
+        manager.setUserDetailsPasswordService(userDetailsService);
+        return manager;
+    }
+
+    // Requests without a bearer token are left to HTTP Basic
+    private static AuthenticationWebFilter bearerTokenFilter(TokenService tokenService,
+                                                             R2dbcUserDetailsService userDetailsService) {
+        AuthenticationWebFilter filter = new AuthenticationWebFilter((ReactiveAuthenticationManager) authentication ->
+                Mono.justOrEmpty(tokenService.verify((String) authentication.getCredentials()))
+                        .flatMap(userDetailsService::findByUsername)
+                        .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Invalid bearer token")))
+                        .map(user -> UsernamePasswordAuthenticationToken.authenticated(
+                                user.getUsername(), null, user.getAuthorities())));
+        filter.setServerAuthenticationConverter(exchange -> {
+            String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (header == null || !header.startsWith(BEARER_PREFIX)) {
+                return Mono.empty();
+            }
+            String token = header.substring(BEARER_PREFIX.length());
+            return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(token, token));
+        });
+        filter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(entryPoint()));
+        return filter;
+    }
+
+    // Basic challenge for bad credentials, 503 when the password check was rejected for overload
+    private static ServerAuthenticationEntryPoint entryPoint() {
+        HttpBasicServerAuthenticationEntryPoint basic = new HttpBasicServerAuthenticationEntryPoint();
+        basic.setRealm("Realm");
+        return (exchange, authException) -> {
+            if (authException instanceof PasswordHashingRejectedException) {
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return exchange.getResponse().setComplete();
+            }
+            return basic.commence(exchange, authException);
+        };
+    }
+}
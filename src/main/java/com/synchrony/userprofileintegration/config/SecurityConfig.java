@@ -1,28 +1,43 @@
 package com.synchrony.userprofileintegration.config;
 
 import com.synchrony.userprofileintegration.service.CustomUserDetailsService;
+import com.synchrony.userprofileintegration.service.TokenService;
+import exception.PasswordHashingRejectedException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
 
 
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService,
+                                                   AdminAccounts adminAccounts) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())  // Disable CSRF for APIs
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/register", "/swagger-ui/**", "/v3/api-docs/**").permitAll()  // Public endpoints -> For testing purpose
+                        .requestMatchers("/api/register", "/api/login", "/swagger-ui/**", "/v3/api-docs/**").permitAll()  // Public endpoints -> For testing purpose
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()  // Probes and metric scrapes carry no credentials
+                        .requestMatchers(HttpMethod.POST, "/api/users/import").hasRole(AdminAccounts.ADMIN)  // Bulk account creation
+                        .requestMatchers("/api/admin/**").hasRole(AdminAccounts.ADMIN)  // Cache and connection pool internals
                         .anyRequest().authenticated()  // Secure all other endpoints
                 )
-                .httpBasic(basic -> {});  // Enable only Basic Authentication (NO FORM LOGIN)
+                // Bearer tokens from /api/login are checked first; Basic stays available as a fallback
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService, adminAccounts), BasicAuthenticationFilter.class)
+                .httpBasic(basic -> basic.authenticationEntryPoint(entryPoint()));  // Enable only Basic Authentication (NO FORM LOGIN)
 
         return http.build();
     }
@@ -32,12 +47,23 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(encoder);
+        // Rehash the stored password whenever the encoder reports it as outdated
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // Basic challenge for bad credentials, 503 when the password check was rejected for overload
+    private static AuthenticationEntryPoint entryPoint() {
+        BasicAuthenticationEntryPoint basic = new BasicAuthenticationEntryPoint();
+        basic.setRealmName("Realm");
+        return (request, response, authException) -> {
+            if (authException instanceof PasswordHashingRejectedException) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), authException.getMessage());
+            } else {
+                basic.commence(request, response, authException);
+            }
+        };
     }
 
 }
\ No newline at end of file
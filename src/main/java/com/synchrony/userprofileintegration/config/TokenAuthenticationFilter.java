@@ -0,0 +1,55 @@
+package com.synchrony.userprofileintegration.config;
+
+import com.synchrony.userprofileintegration.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests carrying an {@code Authorization: Bearer} token issued by {@link TokenService}.
+ * Requests without a valid token fall through to HTTP Basic.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final AdminAccounts adminAccounts;
+
+    public TokenAuthenticationFilter(TokenService tokenService, AdminAccounts adminAccounts) {
+        this.tokenService = tokenService;
+        this.adminAccounts = adminAccounts;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            tokenService.verify(header.substring(BEARER_PREFIX.length())).ifPresent(username -> {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                        username, null, AuthorityUtils.createAuthorityList(roleAuthorities(adminAccounts.roles(username)))));
+                SecurityContextHolder.setContext(context);
+            });
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String[] roleAuthorities(String[] roles) {
+        String[] authorities = new String[roles.length];
+        for (int i = 0; i < roles.length; i++) {
+            authorities[i] = "ROLE_" + roles[i];
+        }
+        return authorities;
+    }
+}
@@ -0,0 +1,48 @@
+package com.synchrony.userprofileintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configures the bounded executors that run image uploads off the request thread.
+ * Once all workers are busy and the queue is full, new async jobs are rejected instead of piling up.
+ */
+@Configuration
+public class UploadExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor uploadExecutor(@Value("${upload.async.concurrency:4}") int concurrency,
+                                                 @Value("${upload.async.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-");
+        executor.setTaskDecorator(CorrelationIdFilter.threadContextPropagator());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Shared pool for the parallel Imgur calls of batch uploads and deletes.
+     * When it is saturated, extra workers are rejected and a batch carries on with the workers it got, at least
+     * the request thread itself, so its parallelism shrinks instead of the batch failing or the pool growing.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imgurBatchExecutor(@Value("${imgur.batch.pool-size:16}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("imgur-batch-");
+        executor.setTaskDecorator(CorrelationIdFilter.threadContextPropagator());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,53 @@
+package com.synchrony.userprofileintegration.controller;
+
+import com.synchrony.userprofileintegration.dto.CacheStatsDTO;
+import com.synchrony.userprofileintegration.dto.ConnectionPoolStatsDTO;
+import com.synchrony.userprofileintegration.service.ProfileService;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing operational statistics used to size pools and caches.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AdminController {
+
+    private final PoolingHttpClientConnectionManager imgurConnectionManager;
+    private final ProfileService profileService;
+
+    @Autowired
+    public AdminController(PoolingHttpClientConnectionManager imgurConnectionManager, ProfileService profileService) {
+        this.imgurConnectionManager = imgurConnectionManager;
+        this.profileService = profileService;
+    }
+
+    /**
+     * Reports how many Imgur connections are leased, idle and waited for.
+     *
+     * @return the current occupancy of the Imgur connection pool.
+     */
+    @GetMapping("/imgur/pool")
+    public ResponseEntity<ConnectionPoolStatsDTO> getImgurPoolStats() {
+        PoolStats stats = imgurConnectionManager.getTotalStats();
+        return ResponseEntity.ok(new ConnectionPoolStatsDTO(
+                stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax()));
+    }
+
+    /**
+     * Reports hit, miss and eviction counts of the profile cache.
+     *
+     * @return the current statistics of the profile cache.
+     */
+    @GetMapping("/cache/profiles")
+    public ResponseEntity<CacheStatsDTO> getProfileCacheStats() {
+        return ResponseEntity.ok(profileService.getCacheStats());
+    }
+}
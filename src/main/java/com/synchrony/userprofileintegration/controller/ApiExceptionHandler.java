@@ -0,0 +1,76 @@
+package com.synchrony.userprofileintegration.controller;
+
+import exception.ImgurRateLimitedException;
+import exception.ImgurUnavailableException;
+import exception.UserNotFoundException;
+import exception.UsernameTakenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps exceptions thrown by the REST controllers to HTTP responses and counts them.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final Logger logger = LogManager.getLogger(ApiExceptionHandler.class);
+
+    private final Counter userNotFound;
+
+    @Autowired
+    public ApiExceptionHandler(MeterRegistry meterRegistry) {
+        this.userNotFound = Counter.builder("users.not_found")
+                .description("Requests naming a user that does not exist")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Answers requests for unknown users with an HTTP 404 status.
+     *
+     * @param e the exception naming the missing user.
+     * @return an HTTP 404 response with the exception message.
+     */
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<String> handleUserNotFound(UserNotFoundException e) {
+        userNotFound.increment();
+        logger.warn(e.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    /**
+     * Answers registrations of a username that is already taken with an HTTP 409 status.
+     *
+     * @param e the exception naming the taken username.
+     * @return an HTTP 409 response with the exception message.
+     */
+    @ExceptionHandler(UsernameTakenException.class)
+    public ResponseEntity<String> handleUsernameTaken(UsernameTakenException e) {
+        logger.warn(e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    /**
+     * Answers requests that could not reach Imgur with an HTTP 503 status. When the Imgur rate limit is
+     * the reason, the response tells the client when the credits are expected to allow the call.
+     *
+     * @param e the exception naming the Imgur operation.
+     * @return an HTTP 503 response with the exception message.
+     */
+    @ExceptionHandler(ImgurUnavailableException.class)
+    public ResponseEntity<String> handleImgurUnavailable(ImgurUnavailableException e) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (e.getCause() instanceof ImgurRateLimitedException rateLimited) {
+            long retryAfterSeconds = Math.max((rateLimited.getRetryAfter().toMillis() + 999) / 1000, 1);
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        return response.body(e.getMessage());
+    }
+}
@@ -0,0 +1,84 @@
+package com.synchrony.userprofileintegration.controller;
+
+import com.synchrony.userprofileintegration.dto.TokenResponseDTO;
+import com.synchrony.userprofileintegration.dto.UserRequestDTO;
+import com.synchrony.userprofileintegration.service.TokenService;
+import exception.PasswordHashingRejectedException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link AuthController}, so the reactive variant issues and revokes its own access tokens.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthController {
+    private static final Logger logger = LogManager.getLogger(ReactiveAuthController.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final ReactiveAuthenticationManager basicAuthenticationManager;
+    private final TokenService tokenService;
+
+    @Autowired
+    public ReactiveAuthController(ReactiveAuthenticationManager basicAuthenticationManager, TokenService tokenService) {
+        this.basicAuthenticationManager = basicAuthenticationManager;
+        this.tokenService = tokenService;
+    }
+
+    /**
+     * Verifies the user's password once and issues a bearer token for subsequent requests.
+     *
+     * @param credentials the username and password.
+     * @return the access token, an HTTP 401 status if the credentials are wrong,
+     *         or an HTTP 503 status if password checks are overloaded.
+     */
+    @PostMapping("/login")
+    public Mono<ResponseEntity<?>> login(@RequestBody UserRequestDTO credentials) {
+        return basicAuthenticationManager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(
+                        credentials.getUsername(), credentials.getPassword()))
+                .<ResponseEntity<?>>map(authentication -> {
+                    TokenService.IssuedToken token = tokenService.issue(authentication.getName());
+                    logger.info("Issued access token for user: {}", authentication.getName());
+                    return ResponseEntity.ok(new TokenResponseDTO(token.token(), "Bearer", token.expiresAt()));
+                })
+                .onErrorResume(PasswordHashingRejectedException.class, e -> {
+                    logger.warn("Login rejected for user {}: password hashing is overloaded", credentials.getUsername());
+                    return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, "1").body(e.getMessage()));
+                })
+                .onErrorResume(AuthenticationException.class, e -> {
+                    logger.warn("Login failed for user: {}", credentials.getUsername());
+                    return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password"));
+                });
+    }
+
+    /**
+     * Revokes the bearer token used to make this request.
+     *
+     * @param authorization the Authorization header carrying the token.
+     * @return HTTP 204 if the token was revoked, or HTTP 400 if no valid bearer token was sent.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        if (authorization.startsWith(BEARER_PREFIX)
+                && tokenService.revoke(authorization.substring(BEARER_PREFIX.length()))) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.badRequest().body("No valid bearer token to revoke");
+    }
+}
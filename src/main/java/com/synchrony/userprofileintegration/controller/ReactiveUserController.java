@@ -0,0 +1,123 @@
+package com.synchrony.userprofileintegration.controller;
+
+import com.synchrony.userprofileintegration.dto.UserProfileDTO;
+import com.synchrony.userprofileintegration.dto.UserRequestDTO;
+import com.synchrony.userprofileintegration.dto.UserResponseDTO;
+import com.synchrony.userprofileintegration.model.User;
+import com.synchrony.userprofileintegration.service.ProfileService;
+import com.synchrony.userprofileintegration.service.ReactiveImageService;
+import com.synchrony.userprofileintegration.service.UserService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux controller mirroring the registration, profile and image upload routes of {@link UserController}.
+ * Active instead of the MVC controllers when the application runs with the reactive profile.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController {
+    private static final Logger logger = LogManager.getLogger(ReactiveUserController.class);
+    // Clients may keep profiles, but must revalidate them with their ETag before each use
+    private static final CacheControl PROFILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final ReactiveImageService imageService;
+    private final UserService userService;
+
+    @Autowired
+    public ReactiveUserController(ReactiveImageService imageService, UserService userService) {
+        this.imageService = imageService;
+        this.userService = userService;
+    }
+
+    /**
+     * Registers a new user using the provided registration details.
+     * Registration goes through the same {@link UserService} as the servlet stack, so the password is hashed
+     * and the username filter updated alike; both block, so they run on the bounded elastic scheduler.
+     *
+     * @param userRequest the username and password of the new user.
+     * @return the registered user details along with an HTTP OK status,
+     *         or an HTTP 409 status if the username is already taken.
+     */
+    @PostMapping("/register")
+    public Mono<ResponseEntity<UserResponseDTO>> registerUser(@RequestBody UserRequestDTO userRequest) {
+        User user = new User();
+        user.setUsername(userRequest.getUsername());
+        user.setPassword(userRequest.getPassword());
+        logger.info("Registering user: {}", user.getUsername());
+        return Mono.fromCallable(() -> userService.registerUser(user))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(registeredUser -> {
+                    logger.info("User registered with id: {}", registeredUser.getId());
+                    return ResponseEntity.ok(new UserResponseDTO(registeredUser.getId(), registeredUser.getUsername()));
+                });
+    }
+
+    /**
+     * Retrieves one page of the profile of a user, including their images.
+     * Like {@link UserController}, responses carry an ETag built from the user's images version, and a request
+     * whose If-None-Match still matches gets an HTTP 304 without the profile being loaded. A truncated profile
+     * links to its next page in a Link header.
+     *
+     * @param username the username of the user.
+     * @param after the nextCursor of the previous page, to continue the image listing after it.
+     * @param limit the maximum number of images to return.
+     * @param exchange the exchange, checked for a matching If-None-Match header.
+     * @return the user profile if found, an HTTP 304 status if the client's copy is current;
+     *         otherwise, an HTTP 404 status.
+     */
+    @GetMapping("/users/{username}")
+    public Mono<ResponseEntity<UserProfileDTO>> getUserProfile(@PathVariable String username,
+                                                               @RequestParam(required = false) Long after,
+                                                               @RequestParam(required = false) Integer limit,
+                                                               ServerWebExchange exchange) {
+        return imageService.getImagesVersion(username).flatMap(version -> {
+            if (exchange.checkNotModified(ProfileService.eTag(version))) {
+                logger.info("Profile for user {} not modified", username);
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .cacheControl(PROFILE_CACHE_CONTROL).<UserProfileDTO>build());
+            }
+            logger.info("Fetching profile for user: {}", username);
+            return imageService.getProfilePage(username, after, limit)
+                    .map(profile -> {
+                        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                                .eTag(ProfileService.eTag(profile.getImagesVersion()))
+                                .cacheControl(PROFILE_CACHE_CONTROL);
+                        if (profile.isTruncated()) {
+                            response.header(HttpHeaders.LINK, ProfileService.nextPageLink(profile, limit));
+                        }
+                        return response.body(profile);
+                    });
+        });
+    }
+
+    /**
+     * Uploads an image file for a specified user.
+     *
+     * @param username the username of the user.
+     * @param file the image file to be uploaded.
+     * @return the details of the uploaded image, an HTTP 404 status if the user does not exist,
+     *         or an HTTP 500 status if the upload fails.
+     */
+    @PostMapping(value = "/users/{username}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<?>> uploadImage(@PathVariable String username,
+                                               @RequestPart("file") FilePart file) {
+        logger.info("Uploading image for user: {}", username);
+        return imageService.uploadImage(username, file)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(500).body("Image upload failed"));
+    }
+}
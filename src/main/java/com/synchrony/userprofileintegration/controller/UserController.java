@@ -3,14 +3,31 @@ package com.synchrony.userprofileintegration.controller;
 import com.synchrony.userprofileintegration.dto.*;
 import com.synchrony.userprofileintegration.model.Image;
 import com.synchrony.userprofileintegration.model.User;
-import com.synchrony.userprofileintegration.service.ImgurService;
+import com.synchrony.userprofileintegration.service.BatchDeleteService;
+import com.synchrony.userprofileintegration.service.BatchUploadService;
+import com.synchrony.userprofileintegration.service.ImageService;
+import com.synchrony.userprofileintegration.service.ProfileService;
+import com.synchrony.userprofileintegration.service.UserImportService;
+import com.synchrony.userprofileintegration.service.UploadJobService;
 import com.synchrony.userprofileintegration.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
@@ -22,22 +39,48 @@ import org.apache.logging.log4j.Logger;
  */
 @RestController
 @RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserController {
     private static final Logger logger = LogManager.getLogger(UserController.class);
+    // Clients may keep profiles, but must revalidate them with their ETag before each use
+    private static final CacheControl PROFILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
     private final UserService userService;
-    private final ImgurService imgurService;
+    private final ImageService imageService;
+    private final UploadJobService uploadJobService;
+    private final ProfileService profileService;
+    private final BatchUploadService batchUploadService;
+    private final BatchDeleteService batchDeleteService;
+    private final UserImportService userImportService;
+    private final boolean asyncUploads;
+    private final int maxBatchFiles;
+    private final int maxDeleteIds;
 
     @Autowired
-    public UserController(UserService userService, ImgurService imgurService) {
+    public UserController(UserService userService, ImageService imageService,
+                          UploadJobService uploadJobService, ProfileService profileService,
+                          BatchUploadService batchUploadService, BatchDeleteService batchDeleteService,
+                          UserImportService userImportService,
+                          @Value("${upload.async.enabled:false}") boolean asyncUploads,
+                          @Value("${upload.batch.max-files:50}") int maxBatchFiles,
+                          @Value("${delete.batch.max-ids:100}") int maxDeleteIds) {
         this.userService = userService;
-        this.imgurService = imgurService;
+        this.imageService = imageService;
+        this.uploadJobService = uploadJobService;
+        this.profileService = profileService;
+        this.batchUploadService = batchUploadService;
+        this.batchDeleteService = batchDeleteService;
+        this.userImportService = userImportService;
+        this.asyncUploads = asyncUploads;
+        this.maxBatchFiles = maxBatchFiles;
+        this.maxDeleteIds = maxDeleteIds;
     }
 
     /**
      * Registers a new user using the provided registration details.
      *
      * @param user the user object containing registration information.
-     * @return the registered user details along with an HTTP OK status.
+     * @return the registered user details along with an HTTP OK status,
+     *         or an HTTP 409 status if the username is already taken.
      */
     @PostMapping("/register")
     public ResponseEntity<UserResponseDTO> registerUser(@RequestBody UserRequestDTO userRequest) {
@@ -51,31 +94,72 @@ public class UserController {
         return ResponseEntity.ok(responseDTO);
     }
 
+    /**
+     * Imports many users from the request body, streamed as NDJSON or CSV.
+     * NDJSON lines are {"username": ..., "password": ...} objects; CSV rows are "username,password".
+     * Rows that fail validation or name an existing user are skipped and reported in the summary.
+     * Only administrators, see {@link com.synchrony.userprofileintegration.config.AdminAccounts}, may import users.
+     *
+     * @param contentType application/x-ndjson or text/csv.
+     * @param body the streamed request body.
+     * @return a summary of imported and failed users.
+     */
+    @PostMapping(value = "/users/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<UserImportSummaryDTO> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                            InputStream body) throws IOException {
+        UserImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? UserImportService.Format.NDJSON
+                : UserImportService.Format.CSV;
+        logger.info("Importing users from a {} stream", format);
+        return ResponseEntity.ok(userImportService.importUsers(body, format));
+    }
+
 
     /**
      * Retrieves the profile of a user identified by the provided username.
-     * The profile includes basic user details and the list of associated images.
+     * The profile includes basic user details and one page of associated images, ordered by id.
+     * When more images follow, the profile is marked truncated, carries the cursor of the next page, and the
+     * response links to that page in a Link header.
+     * The default first page is served from a cache that is invalidated whenever the user's images change.
+     * Responses carry a strong ETag that changes with the user's images; a request whose If-None-Match
+     * still matches gets an HTTP 304 without the profile being loaded or serialized.
      *
      * @param username the username of the user.
-     * @return the user profile if found; otherwise, an HTTP 404 status.
+     * @param after the nextCursor of the previous page, to continue the image listing after it.
+     * @param limit the maximum number of images to return.
+     * @param request the request, checked for a matching If-None-Match header.
+     * @return the user profile if found, an HTTP 304 status if the client's copy is current;
+     *         otherwise, an HTTP 404 status.
      */
     @GetMapping("/users/{username}")
-    public ResponseEntity<?> getUserProfile(@PathVariable String username) {
+    public ResponseEntity<?> getUserProfile(@PathVariable String username,
+                                            @RequestParam(required = false) Long after,
+                                            @RequestParam(required = false) Integer limit,
+                                            WebRequest request) {
+        long imagesVersion = profileService.getImagesVersion(username);
+        if (request.checkNotModified(ProfileService.eTag(imagesVersion))) {
+            logger.info("Profile for user {} not modified", username);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(PROFILE_CACHE_CONTROL).build();
+        }
         logger.info("Fetching profile for user: {}", username);
-        Optional<User> userOpt = userService.findByUsername(username);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            logger.info("User found: {}", user.getUsername());
-            List<ImageDTO> imageDTOs = user.getImages().stream()
-                    .map(image -> new ImageDTO(image.getId(), image.getDeleteHash(), image.getLink()))
-                    .toList();
-
-
-            UserProfileDTO userProfileDTO = new UserProfileDTO(user.getId(), user.getUsername(), imageDTOs);
-            return ResponseEntity.ok(userProfileDTO);
+        UserProfileDTO userProfileDTO;
+        if (after == null && limit == null) {
+            userProfileDTO = profileService.getProfile(username);
+            if (userProfileDTO.getImagesVersion() < imagesVersion) {
+                logger.info("Cached profile for user {} is stale, reloading", username);
+                userProfileDTO = profileService.refreshProfile(username);
+            }
+        } else {
+            userProfileDTO = profileService.getProfilePage(username, after, limit);
         }
-        logger.warn("User not found: {}", username);
-        return ResponseEntity.notFound().build();
+        // The ETag describes the body served, which may have been read at a different version than checked above
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(ProfileService.eTag(userProfileDTO.getImagesVersion()))
+                .cacheControl(PROFILE_CACHE_CONTROL);
+        if (userProfileDTO.isTruncated()) {
+            response.header(HttpHeaders.LINK, ProfileService.nextPageLink(userProfileDTO, limit));
+        }
+        return response.body(userProfileDTO);
     }
 
 
@@ -84,6 +168,7 @@ public class UserController {
     /**
      * Uploads an image file for a specified user.
      * The image is uploaded to Imgur and its details are associated with the user's profile.
+     * When asynchronous uploads are enabled, the file is staged and an HTTP 202 with the upload job is returned instead.
      *
      * @param username the username of the user.
      * @param file the image file to be uploaded.
@@ -91,21 +176,17 @@ public class UserController {
      */
     @PostMapping(value = "/users/{username}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> uploadImage(@PathVariable String username,
-                                         @RequestParam("file") MultipartFile file) {
+                                         @RequestParam("file") MultipartFile file) throws IOException {
         logger.info("Uploading image for user: {}", username);
         Optional<User> userOpt = userService.findByUsername(username);
         if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            ImageResponseDTO imgurResponse = imgurService.uploadImage(file);
-            if (imgurResponse == null || imgurResponse.getLink() == null) {
-                logger.error("Image upload failed for user: {}", username);
+            if (asyncUploads) {
+                return submitUploadJob(username, file);
+            }
+            Image newImage = imageService.uploadImage(username, file.getResource());
+            if (newImage == null) {
                 return ResponseEntity.status(500).body("Image upload failed");
             }
-            Image newImage = new Image();
-            newImage.setLink(imgurResponse.getLink());
-            newImage.setDeleteHash(imgurResponse.getDeleteHash());
-            user.getImages().add(newImage);
-            userService.updateUser(user);
             logger.info("Image uploaded successfully for user: {}", username);
             return ResponseEntity.ok(newImage);
         }
@@ -113,49 +194,117 @@ public class UserController {
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * Uploads several image files for a specified user in one request.
+     * The files are uploaded to Imgur in parallel and the successful ones are saved together;
+     * the response reports the outcome of each file, so some files may fail while others succeed.
+     *
+     * @param username the username of the user.
+     * @param files the image files to be uploaded, as repeated "file" parts.
+     * @return the per-file results, or an HTTP 400 status if too many files are sent.
+     */
+    @PostMapping(value = "/users/{username}/images/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadImages(@PathVariable String username,
+                                          @RequestParam("file") List<MultipartFile> files) {
+        logger.info("Uploading {} images for user: {}", files.size(), username);
+        if (files.size() > maxBatchFiles) {
+            return ResponseEntity.badRequest().body("At most " + maxBatchFiles + " files can be uploaded at once");
+        }
+        userService.findIdByUsername(username);
+        List<Resource> resources = files.stream().map(MultipartFile::getResource).toList();
+        return ResponseEntity.ok(batchUploadService.uploadImages(username, resources));
+    }
+
+    /**
+     * Reports the state of an asynchronous upload job.
+     *
+     * @param username the username of the user.
+     * @param jobId the job id returned by the upload endpoint.
+     * @return the job status, including the image once the job is done; otherwise, an HTTP 404 status.
+     */
+    @GetMapping("/users/{username}/uploads/{jobId}")
+    public ResponseEntity<?> getUploadJob(@PathVariable String username,
+                                          @PathVariable String jobId) {
+        return uploadJobService.findJob(username, jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<?> submitUploadJob(String username, MultipartFile file) throws IOException {
+        try {
+            UploadJobDTO job = uploadJobService.submit(username, file);
+            URI statusUri = UriComponentsBuilder.fromPath("/api/users/{username}/uploads/{jobId}")
+                    .buildAndExpand(username, job.getJobId())
+                    .encode()
+                    .toUri();
+            return ResponseEntity.accepted().location(statusUri).body(job);
+        } catch (TaskRejectedException e) {
+            logger.warn("Upload queue full, rejecting upload for user: {}", username);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Upload queue is full");
+        }
+    }
+
 
 
 
 
     /**
      * Deletes an image from the user's profile.
-     * The image is first removed from Imgur, and upon successful deletion, it is removed from the user's profile.
+     * The image is first removed from the user's profile, and then from Imgur if no other image shares its content.
      *
      * @param username the username of the user.
      * @param imageId the unique identifier of the image to be deleted.
-     * @return an HTTP response indicating the outcome of the deletion operation.
+     * @return an HTTP response indicating the outcome of the deletion operation: an HTTP 404 status if the image
+     *         does not exist, or an HTTP 500 status if it was removed from the profile but not from Imgur.
      */
     @DeleteMapping("/users/{username}/images/{imageId}")
     public ResponseEntity<?> deleteImage(@PathVariable String username,
                                          @PathVariable Long imageId) {
         logger.info("Deleting image id {} for user: {}", imageId, username);
-        Optional<User> userOpt = userService.findByUsername(username);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            Image targetImage = user.getImages().stream()
-                    .filter(img -> img.getId().equals(imageId))
-                    .findFirst()
-                    .orElse(null);
-            if (targetImage == null) {
-                logger.warn("Image id {} not found for user: {}", imageId, username);
-                return ResponseEntity.notFound().build();
-            }
-            boolean deletionSuccess = imgurService.deleteImage(targetImage.getDeleteHash());
-
-            if (!deletionSuccess) {
-                logger.error("Failed to delete image id {} for user: {}", imageId, username);
-                return ResponseEntity.status(500).body("Image deletion failed");
-            }
-            user.getImages().remove(targetImage);
-            userService.updateUser(user);
-            logger.info("Image id {} deleted successfully for user: {}", imageId, username);
-            return ResponseEntity.ok("Image deleted successfully");
+        Optional<Image> targetImage = imageService.findImage(username, imageId);
+        if (targetImage.isEmpty()) {
+            logger.warn("Image id {} not found for user: {}", imageId, username);
+            return ResponseEntity.notFound().build();
         }
-        logger.warn("User not found during image deletion: {}", username);
-        return ResponseEntity.notFound().build();
+        ImageService.DeleteOutcome outcome = imageService.deleteImage(username, targetImage.get());
+        if (outcome == ImageService.DeleteOutcome.NOT_FOUND) {
+            logger.warn("Image id {} was deleted concurrently for user: {}", imageId, username);
+            return ResponseEntity.notFound().build();
+        }
+        if (outcome == ImageService.DeleteOutcome.HOSTED_COPY_LEFT) {
+            logger.error("Failed to delete image id {} from Imgur for user: {}", imageId, username);
+            return ResponseEntity.status(500).body("Image deletion failed");
+        }
+        logger.info("Image id {} deleted successfully for user: {}", imageId, username);
+        return ResponseEntity.ok("Image deleted successfully");
     }
 
-
-
-
-}
\ No newline at end of file
+    /**
+     * Deletes several images, or all images, from the user's profile.
+     * The images are removed from the profile together, and their hosted copies are then removed from Imgur
+     * in parallel; the response reports the outcome of each image.
+     *
+     * @param username the username of the user.
+     * @param ids the ids of the images to be deleted.
+     * @param all whether to delete every image of the user instead.
+     * @return the per-image results, or an HTTP 400 status if neither ids nor all are given,
+     *         or if more ids are given than can be deleted at once.
+     */
+    @DeleteMapping("/users/{username}/images")
+    public ResponseEntity<?> deleteImages(@PathVariable String username,
+                                          @RequestParam(required = false) List<Long> ids,
+                                          @RequestParam(defaultValue = "false") boolean all) {
+        if (!all && (ids == null || ids.isEmpty())) {
+            return ResponseEntity.badRequest().body("Specify the image ids to delete, or all=true");
+        }
+        if (!all && ids.size() > maxDeleteIds) {
+            return ResponseEntity.badRequest().body("At most " + maxDeleteIds + " images can be deleted at once");
+        }
+        logger.info("Bulk deleting {} images for user: {}", all ? "all" : ids.size(), username);
+        Long userId = userService.findIdByUsername(username);
+        List<BatchDeleteResultDTO> results = all
+                ? batchDeleteService.deleteAllImages(username, userId)
+                : batchDeleteService.deleteImages(username, userId, ids);
+        return ResponseEntity.ok(results);
+    }
+}
@@ -0,0 +1,29 @@
+package com.synchrony.userprofileintegration.dto;
+
+/**
+ * DTO for reporting the outcome of one image of a bulk image deletion.
+ */
+public class BatchDeleteResultDTO {
+
+    private Long imageId;
+    private boolean deleted;
+    private String error;
+
+    public BatchDeleteResultDTO(Long imageId, boolean deleted, String error) {
+        this.imageId = imageId;
+        this.deleted = deleted;
+        this.error = error;
+    }
+
+    public Long getImageId() {
+        return imageId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,35 @@
+package com.synchrony.userprofileintegration.dto;
+
+/**
+ * DTO for reporting the outcome of one file of a batch image upload.
+ */
+public class BatchUploadResultDTO {
+
+    private String filename;
+    private boolean uploaded;
+    private ImageDTO image;
+    private String error;
+
+    public BatchUploadResultDTO(String filename, boolean uploaded, ImageDTO image, String error) {
+        this.filename = filename;
+        this.uploaded = uploaded;
+        this.image = image;
+        this.error = error;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public boolean isUploaded() {
+        return uploaded;
+    }
+
+    public ImageDTO getImage() {
+        return image;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
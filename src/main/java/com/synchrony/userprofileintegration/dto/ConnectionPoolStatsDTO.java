@@ -0,0 +1,34 @@
+package com.synchrony.userprofileintegration.dto;
+
+/**
+ * DTO for reporting the occupancy of an HTTP connection pool.
+ */
+public class ConnectionPoolStatsDTO {
+    private int leased;
+    private int available;
+    private int pending;
+    private int max;
+
+    public ConnectionPoolStatsDTO(int leased, int available, int pending, int max) {
+        this.leased = leased;
+        this.available = available;
+        this.pending = pending;
+        this.max = max;
+    }
+
+    public int getLeased() {
+        return leased;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public int getMax() {
+        return max;
+    }
+}
@@ -0,0 +1,28 @@
+package com.synchrony.userprofileintegration.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * DTO for the envelope Imgur wraps its upload and error responses in.
+ * Only the fields the application reads are bound; everything else is skipped while parsing.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ImgurApiResponseDTO(boolean success, int status, Data data) {
+
+    /**
+     * @return Imgur's description of the failure, or null if there is none.
+     */
+    public String errorMessage() {
+        if (data == null || data.error() == null) {
+            return null;
+        }
+        // Imgur reports errors either as a plain string or as an object with a message
+        JsonNode error = data.error();
+        return error.isObject() ? error.path("message").asText(null) : error.asText();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Data(String link, String deletehash, JsonNode error) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.synchrony.userprofileintegration.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * DTO for Imgur responses whose payload the application does not need, such as deletions.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ImgurApiStatusDTO(boolean success, int status) {
+}
@@ -0,0 +1,47 @@
+package com.synchrony.userprofileintegration.dto;
+
+/**
+ * DTO for one row of the profile projection: the user's columns joined with at most one image.
+ * The image columns are null for a user without images.
+ */
+public class ProfileRowDTO {
+    private Long userId;
+    private String username;
+    private long imagesVersion;
+    private Long imageId;
+    private String deleteHash;
+    private String link;
+
+    public ProfileRowDTO(Long userId, String username, long imagesVersion, Long imageId, String deleteHash, String link) {
+        this.userId = userId;
+        this.username = username;
+        this.imagesVersion = imagesVersion;
+        this.imageId = imageId;
+        this.deleteHash = deleteHash;
+        this.link = link;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public long getImagesVersion() {
+        return imagesVersion;
+    }
+
+    public Long getImageId() {
+        return imageId;
+    }
+
+    public String getDeleteHash() {
+        return deleteHash;
+    }
+
+    public String getLink() {
+        return link;
+    }
+}
@@ -0,0 +1,30 @@
+package com.synchrony.userprofileintegration.dto;
+
+import java.time.Instant;
+
+/**
+ * DTO for returning an issued access token.
+ */
+public class TokenResponseDTO {
+    private String accessToken;
+    private String tokenType;
+    private Instant expiresAt;
+
+    public TokenResponseDTO(String accessToken, String tokenType, Instant expiresAt) {
+        this.accessToken = accessToken;
+        this.tokenType = tokenType;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
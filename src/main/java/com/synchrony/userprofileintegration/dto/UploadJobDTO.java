@@ -0,0 +1,39 @@
+package com.synchrony.userprofileintegration.dto;
+
+/**
+ * DTO for reporting the state of an asynchronous image upload job.
+ */
+public class UploadJobDTO {
+
+    public enum Status {
+        PENDING, DONE, FAILED
+    }
+
+    private String jobId;
+    private Status status;
+    private ImageDTO image;
+    private String error;
+
+    public UploadJobDTO(String jobId, Status status, ImageDTO image, String error) {
+        this.jobId = jobId;
+        this.status = status;
+        this.image = image;
+        this.error = error;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public ImageDTO getImage() {
+        return image;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
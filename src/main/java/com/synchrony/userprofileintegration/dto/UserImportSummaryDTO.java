@@ -0,0 +1,35 @@
+package com.synchrony.userprofileintegration.dto;
+
+import java.util.List;
+
+/**
+ * DTO for summarising a bulk user import.
+ * Only the first failures are listed; failedCount always covers all of them.
+ */
+public class UserImportSummaryDTO {
+
+    private long importedCount;
+    private long failedCount;
+    private List<Failure> failures;
+
+    public UserImportSummaryDTO(long importedCount, long failedCount, List<Failure> failures) {
+        this.importedCount = importedCount;
+        this.failedCount = failedCount;
+        this.failures = failures;
+    }
+
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    public record Failure(long line, String username, String reason) {
+    }
+}
@@ -1,19 +1,38 @@
 package com.synchrony.userprofileintegration.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 /**
- * DTO for returning a user's profile, including associated images.
+ * DTO for returning a user's profile, including one page of associated images.
  */
 public class UserProfileDTO {
     private Long id;
     private String username;
     private List<ImageDTO> images;
+    // Id to pass as ?after= to fetch the next page; absent on the last page
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long nextCursor;
+    // Images version the page was read at; the response ETag is built from it, so it always describes this body
+    @JsonIgnore
+    private long imagesVersion;
 
     public UserProfileDTO(Long id, String username, List<ImageDTO> images) {
+        this(id, username, images, null);
+    }
+
+    public UserProfileDTO(Long id, String username, List<ImageDTO> images, Long nextCursor) {
+        this(id, username, images, nextCursor, 0L);
+    }
+
+    public UserProfileDTO(Long id, String username, List<ImageDTO> images, Long nextCursor, long imagesVersion) {
         this.id = id;
         this.username = username;
         this.images = images;
+        this.nextCursor = nextCursor;
+        this.imagesVersion = imagesVersion;
     }
 
     public Long getId() {
@@ -27,4 +46,17 @@ public class UserProfileDTO {
     public List<ImageDTO> getImages() {
         return images;
     }
-}
\ No newline at end of file
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    // Whether the user has more images than this page holds, so clients cannot mistake a page for the whole list
+    public boolean isTruncated() {
+        return nextCursor != null;
+    }
+
+    public long getImagesVersion() {
+        return imagesVersion;
+    }
+}
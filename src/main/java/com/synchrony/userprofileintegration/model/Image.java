@@ -3,7 +3,11 @@ package com.synchrony.userprofileintegration.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "images")
+@Table(name = "images", indexes = {
+        // Backs the keyset-paginated image listing: WHERE user_id = ? AND id > ? ORDER BY id
+        @Index(name = "idx_images_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_images_content_hash", columnList = "content_hash")
+})
 public class Image {
 
     @Id
@@ -13,9 +17,18 @@ public class Image {
     @Column(name = "imgur_link")
     private String link;
 
-    @Column(name = "delete_hash", unique = true)
+    // Not unique: images with the same content share one hosted copy
+    @Column(name = "delete_hash")
     private String deleteHash;
 
+    // SHA-256 of the content, see ImageContent; null for images uploaded before deduplication
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Owning side of the user link, so an image is inserted or deleted without loading its user
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -41,6 +54,21 @@ public class Image {
         this.deleteHash = deleteHash;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
 
 }
 
@@ -0,0 +1,60 @@
+package com.synchrony.userprofileintegration.model;
+
+import jakarta.persistence.*;
+
+// One hosted copy of an image's content, shared by every Image row with the same content hash
+@Entity
+@Table(name = "image_contents")
+public class ImageContent {
+
+    // Hex SHA-256 of the uploaded bytes
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "imgur_link")
+    private String link;
+
+    @Column(name = "delete_hash")
+    private String deleteHash;
+
+    // Number of Image rows pointing at this copy; at zero the upstream copy is being deleted and the row goes next
+    @Column(name = "reference_count", nullable = false)
+    private int referenceCount;
+
+    @Version
+    private Long version;
+
+    // Getters and setters
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getLink() {
+        return link;
+    }
+
+    public void setLink(String link) {
+        this.link = link;
+    }
+
+    public String getDeleteHash() {
+        return deleteHash;
+    }
+
+    public void setDeleteHash(String deleteHash) {
+        this.deleteHash = deleteHash;
+    }
+
+    public int getReferenceCount() {
+        return referenceCount;
+    }
+
+    public void setReferenceCount(int referenceCount) {
+        this.referenceCount = referenceCount;
+    }
+}
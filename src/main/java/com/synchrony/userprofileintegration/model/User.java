@@ -1,15 +1,19 @@
 package com.synchrony.userprofileintegration.model;
 
+import com.synchrony.userprofileintegration.service.UsernameFilterListener;
 import jakarta.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UsernameFilterListener.class)
 public class User {
 
+    // Sequence ids are allocated in blocks, so Hibernate can batch user inserts (IDENTITY would insert row by row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -18,9 +22,13 @@ public class User {
     @Column(nullable = false)
     private String password;
 
-    // One user can have many images
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "user_id")  // this column will be added in the images table
+    // Bumped whenever the user's images change; profile responses use it as their ETag
+    @Column(name = "images_version", nullable = false)
+    private long imagesVersion;
+
+    // One user can have many images; read-only here, images are written through ImageRepository by user id
+    @OneToMany
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
     private List<Image> images = new ArrayList<>();
 
     // Getters and Setters
@@ -49,6 +57,14 @@ public class User {
         this.password = password;
     }
 
+    public long getImagesVersion() {
+        return imagesVersion;
+    }
+
+    public void setImagesVersion(long imagesVersion) {
+        this.imagesVersion = imagesVersion;
+    }
+
     public List<Image> getImages() {
         return images;
     }
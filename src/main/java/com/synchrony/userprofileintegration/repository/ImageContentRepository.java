@@ -0,0 +1,23 @@
+package com.synchrony.userprofileintegration.repository;
+import com.synchrony.userprofileintegration.model.ImageContent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ImageContentRepository extends JpaRepository<ImageContent, String> {
+    // Lock the row, so reference count changes for the same content are serialised
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from ImageContent c where c.contentHash = :contentHash")
+    Optional<ImageContent> findForUpdate(@Param("contentHash") String contentHash);
+
+    // Delete a released copy, unless it was replaced by a new upload of the same content in the meantime.
+    // Bulk deletes bypass the persistence context, so pending changes are flushed first and stale entities cleared.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from ImageContent c where c.contentHash = :contentHash and c.deleteHash = :deleteHash and c.referenceCount = 0")
+    int deleteReleased(@Param("contentHash") String contentHash, @Param("deleteHash") String deleteHash);
+}
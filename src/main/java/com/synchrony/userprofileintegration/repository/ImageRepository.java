@@ -0,0 +1,45 @@
+package com.synchrony.userprofileintegration.repository;
+import com.synchrony.userprofileintegration.model.Image;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ImageRepository extends JpaRepository<Image, Long> {
+    // Find an image only if it belongs to the given user, in one statement
+    @Query("select i from Image i join User u on u.id = i.userId where i.id = :imageId and u.username = :username")
+    Optional<Image> findByIdAndOwner(@Param("imageId") Long imageId, @Param("username") String username);
+
+    // Lock several of a user's images by id, in id order, so concurrent deletes of the same images are serialised
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Image i where i.id in :imageIds and i.userId = :userId order by i.id")
+    List<Image> findAllByIdInAndUserIdForUpdate(@Param("imageIds") Collection<Long> imageIds, @Param("userId") Long userId);
+
+    // Lock all of a user's images, in id order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Image i where i.userId = :userId order by i.id")
+    List<Image> findAllByUserIdForUpdate(@Param("userId") Long userId);
+
+    // Find all of a user's images
+    @Query("select i from Image i join User u on u.id = i.userId where u.username = :username order by i.id")
+    List<Image> findAllByOwner(@Param("username") String username);
+
+    // Delete straight from the images table, without loading the image or its user
+    @Transactional
+    @Modifying
+    @Query("delete from Image i where i.id = :imageId and i.userId = :userId")
+    int deleteByIdAndUserId(@Param("imageId") Long imageId, @Param("userId") Long userId);
+
+    // Delete several images of a user in one statement
+    @Transactional
+    @Modifying
+    @Query("delete from Image i where i.id in :imageIds and i.userId = :userId")
+    int deleteAllByIdInAndUserId(@Param("imageIds") Collection<Long> imageIds, @Param("userId") Long userId);
+}
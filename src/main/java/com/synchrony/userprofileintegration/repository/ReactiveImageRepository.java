@@ -0,0 +1,89 @@
+package com.synchrony.userprofileintegration.repository;
+
+import com.synchrony.userprofileintegration.model.ImageContent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC access to the images and image_contents tables for the reactive variant of the API.
+ * Reference counts are changed with single UPDATE statements, which take the same row lock the
+ * pessimistic lookups of {@link ImageContentRepository} do, so both variants can share the data.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveImageRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveImageRepository(DatabaseClient reactiveDatabaseClient) {
+        this.databaseClient = reactiveDatabaseClient;
+    }
+
+    /**
+     * Released content, with no references left, is not reused: its upstream copy is being deleted.
+     *
+     * @return the number of rows updated: 1 if the content is hosted, 0 otherwise.
+     */
+    public Mono<Long> incrementReferenceCount(String contentHash) {
+        return databaseClient.sql("UPDATE image_contents SET reference_count = reference_count + 1, "
+                        + "version = version + 1 WHERE content_hash = :contentHash AND reference_count > 0")
+                .bind("contentHash", contentHash)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<ImageContent> findContent(String contentHash) {
+        return databaseClient.sql("SELECT content_hash, imgur_link, delete_hash, reference_count "
+                        + "FROM image_contents WHERE content_hash = :contentHash")
+                .bind("contentHash", contentHash)
+                .map(row -> {
+                    ImageContent content = new ImageContent();
+                    content.setContentHash(row.get("content_hash", String.class));
+                    content.setLink(row.get("imgur_link", String.class));
+                    content.setDeleteHash(row.get("delete_hash", String.class));
+                    content.setReferenceCount(row.get("reference_count", Integer.class));
+                    return content;
+                })
+                .one();
+    }
+
+    /**
+     * Removes the row of released content, to make way for a new upload of the same content.
+     */
+    public Mono<Long> deleteReleasedContent(String contentHash) {
+        return databaseClient.sql("DELETE FROM image_contents WHERE content_hash = :contentHash AND reference_count = 0")
+                .bind("contentHash", contentHash)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Fails with a DataIntegrityViolationException if the same content was registered concurrently.
+     */
+    public Mono<Long> insertContent(String contentHash, String link, String deleteHash) {
+        return databaseClient.sql("INSERT INTO image_contents (content_hash, imgur_link, delete_hash, reference_count, version) "
+                        + "VALUES (:contentHash, :link, :deleteHash, 1, 0)")
+                .bind("contentHash", contentHash)
+                .bind("link", link)
+                .bind("deleteHash", deleteHash)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * @return the generated id of the image.
+     */
+    public Mono<Long> insertImage(long userId, String link, String deleteHash, String contentHash) {
+        return databaseClient.sql("INSERT INTO images (user_id, imgur_link, delete_hash, content_hash) "
+                        + "VALUES (:userId, :link, :deleteHash, :contentHash)")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("userId", userId)
+                .bind("link", link)
+                .bind("deleteHash", deleteHash)
+                .bind("contentHash", contentHash)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+}
@@ -0,0 +1,73 @@
+package com.synchrony.userprofileintegration.repository;
+
+import com.synchrony.userprofileintegration.dto.ProfileRowDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC access to the users table for the reactive variant of the API.
+ * Mirrors the queries of {@link UserRepository} that the reactive endpoints need.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserRepository(DatabaseClient reactiveDatabaseClient) {
+        this.databaseClient = reactiveDatabaseClient;
+    }
+
+    public Mono<Long> findIdByUsername(String username) {
+        return databaseClient.sql("SELECT id FROM users WHERE username = :username")
+                .bind("username", username)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    public Mono<String> findPasswordByUsername(String username) {
+        return databaseClient.sql("SELECT password FROM users WHERE username = :username")
+                .bind("username", username)
+                .map(row -> row.get("password", String.class))
+                .one();
+    }
+
+    public Mono<Long> updatePassword(String username, String password) {
+        return databaseClient.sql("UPDATE users SET password = :password WHERE username = :username")
+                .bind("password", password)
+                .bind("username", username)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> findImagesVersion(String username) {
+        return databaseClient.sql("SELECT images_version FROM users WHERE username = :username")
+                .bind("username", username)
+                .map(row -> row.get("images_version", Long.class))
+                .one();
+    }
+
+    public Mono<Long> incrementImagesVersion(long userId) {
+        return databaseClient.sql("UPDATE users SET images_version = images_version + 1 WHERE id = :userId")
+                .bind("userId", userId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // Same single join as UserRepository.findProfilePage: one row per image, or one row without an image
+    public Flux<ProfileRowDTO> findProfilePage(String username, long after, int limit) {
+        return databaseClient.sql("SELECT u.id AS user_id, u.username, u.images_version, i.id AS image_id, i.delete_hash, i.imgur_link "
+                        + "FROM users u LEFT JOIN images i ON i.user_id = u.id AND i.id > :after "
+                        + "WHERE u.username = :username ORDER BY i.id LIMIT :limit")
+                .bind("after", after)
+                .bind("username", username)
+                .bind("limit", limit)
+                .map(row -> new ProfileRowDTO(row.get("user_id", Long.class), row.get("username", String.class),
+                        row.get("images_version", Long.class), row.get("image_id", Long.class), row.get("delete_hash", String.class),
+                        row.get("imgur_link", String.class)))
+                .all();
+    }
+}
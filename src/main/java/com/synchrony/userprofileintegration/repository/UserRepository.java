@@ -1,10 +1,59 @@
 package com.synchrony.userprofileintegration.repository;
+import com.synchrony.userprofileintegration.dto.ProfileRowDTO;
 import com.synchrony.userprofileintegration.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     // Find a user by username for authentication or profile retrieval
     Optional<User> findByUsername(String username);
-}
\ No newline at end of file
+
+    // Resolve only the id, for writes that reference the user without loading it
+    @Query("select u.id from User u where u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
+    // Replace a stored password hash without loading the user
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    // Read only the images version, to answer conditional profile requests without loading the profile
+    @Query("select u.imagesVersion from User u where u.username = :username")
+    Optional<Long> findImagesVersion(@Param("username") String username);
+
+    // Record a change to a user's images, after the change itself has been written
+    @Transactional
+    @Modifying
+    @Query("update User u set u.imagesVersion = u.imagesVersion + 1 where u.username = :username")
+    int incrementImagesVersion(@Param("username") String username);
+
+    // Every username, streamed to fill the UsernameFilter at startup; must be consumed within a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.username from User u")
+    Stream<String> streamAllUsernames();
+
+    // Which of the given usernames are already taken, to skip them before a batched insert
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    // One page of a user's profile in a single join, projected straight into DTO rows.
+    // Images are read in id order after the cursor; a user without images yields one row with null image columns.
+    // The images version is read by the same statement, so it always matches the images returned.
+    @Query("select new com.synchrony.userprofileintegration.dto.ProfileRowDTO(u.id, u.username, u.imagesVersion, i.id, i.deleteHash, i.link) "
+            + "from User u left join u.images i on i.id > :after "
+            + "where u.username = :username order by i.id")
+    List<ProfileRowDTO> findProfilePage(@Param("username") String username, @Param("after") long after, Pageable pageable);
+}
@@ -0,0 +1,143 @@
+package com.synchrony.userprofileintegration.service;
+
+import com.synchrony.userprofileintegration.dto.BatchDeleteResultDTO;
+import com.synchrony.userprofileintegration.model.Image;
+import com.synchrony.userprofileintegration.repository.ImageRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Service class responsible for deleting many images of one user in a single request.
+ * The images are locked with one indexed query, then released and removed with one DELETE statement in the
+ * same transaction. Content no other image references is deleted from Imgur afterwards, in parallel and
+ * bounded per request, so no database connection is held during the Imgur calls. Each image gets its own result,
+ * which reports a failed Imgur deletion of its hosted copy.
+ */
+@Service
+public class BatchDeleteService {
+
+    private static final Logger logger = LogManager.getLogger(BatchDeleteService.class);
+
+    private final ImageService imageService;
+    private final ImageRepository imageRepository;
+    private final ProfileService profileService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor imgurBatchExecutor;
+    private final int concurrency;
+
+    @Autowired
+    public BatchDeleteService(ImageService imageService, ImageRepository imageRepository, ProfileService profileService,
+                              TransactionTemplate transactionTemplate,
+                              @Qualifier("imgurBatchExecutor") TaskExecutor imgurBatchExecutor,
+                              @Value("${delete.batch.concurrency:8}") int concurrency) {
+        this.imageService = imageService;
+        this.imageRepository = imageRepository;
+        this.profileService = profileService;
+        this.transactionTemplate = transactionTemplate;
+        this.imgurBatchExecutor = imgurBatchExecutor;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Deletes the given images of a user from Imgur and from the user's images.
+     *
+     * @param username the username of the image owner.
+     * @param userId the id of the image owner.
+     * @param imageIds the ids of the images to delete.
+     * @return one result per distinct image id, in request order.
+     */
+    public List<BatchDeleteResultDTO> deleteImages(String username, Long userId, List<Long> imageIds) {
+        Set<Long> requested = new LinkedHashSet<>(imageIds);
+        List<BatchDeleteResultDTO> results = deleteLocked(username, userId,
+                () -> imageRepository.findAllByIdInAndUserIdForUpdate(requested, userId));
+        Map<Long, BatchDeleteResultDTO> byId = results.stream()
+                .collect(Collectors.toMap(BatchDeleteResultDTO::getImageId, Function.identity()));
+        return requested.stream()
+                .map(id -> byId.getOrDefault(id, new BatchDeleteResultDTO(id, false, "Image not found")))
+                .toList();
+    }
+
+    /**
+     * Deletes all images of a user from Imgur and from the user's images.
+     *
+     * @param username the username of the image owner.
+     * @param userId the id of the image owner.
+     * @return one result per image, in id order.
+     */
+    public List<BatchDeleteResultDTO> deleteAllImages(String username, Long userId) {
+        return deleteLocked(username, userId, () -> imageRepository.findAllByUserIdForUpdate(userId));
+    }
+
+    // The images are selected again under row locks inside the transaction, so images removed by a concurrent
+    // delete are neither released twice nor reported as deleted by this one
+    private List<BatchDeleteResultDTO> deleteLocked(String username, Long userId, Supplier<List<Image>> lockImages) {
+        Deletion deletion = transactionTemplate.execute(status -> {
+            List<Image> images = lockImages.get();
+            if (images.isEmpty()) {
+                return new Deletion(images, List.of());
+            }
+            // Images sharing content are released together, so the hosted copy is deleted at most once.
+            // Content rows are locked in hash order, so concurrent batches cannot deadlock on them.
+            List<List<Image>> units = new ArrayList<>();
+            Map<String, List<Image>> byContent = new TreeMap<>();
+            for (Image image : images) {
+                if (image.getContentHash() == null) {
+                    units.add(List.of(image));
+                } else {
+                    byContent.computeIfAbsent(image.getContentHash(), hash -> new ArrayList<>()).add(image);
+                }
+            }
+            units.addAll(byContent.values());
+
+            List<List<Image>> released = new ArrayList<>();
+            for (List<Image> unit : units) {
+                if (imageService.releaseContent(unit.get(0), unit.size())) {
+                    released.add(unit);
+                }
+            }
+            imageRepository.deleteAllByIdInAndUserId(images.stream().map(Image::getId).toList(), userId);
+            return new Deletion(images, released);
+        });
+        if (deletion.images().isEmpty()) {
+            return List.of();
+        }
+        profileService.imagesChanged(username);
+
+        // Images whose shared hosted copy could not be deleted are gone from the profile, but reported as failed
+        List<List<Image>> unreferenced = deletion.unreferenced();
+        Set<Long> hostedCopyLeft = ConcurrentHashMap.newKeySet();
+        BoundedFanOut.forEach(unreferenced.size(), concurrency, imgurBatchExecutor, index -> {
+            List<Image> unit = unreferenced.get(index);
+            if (!imageService.deleteHosted(unit.get(0))) {
+                unit.forEach(image -> hostedCopyLeft.add(image.getId()));
+            }
+        });
+        logger.info("Bulk delete for user {}: {} images deleted, {} hosted copies released, {} images left on Imgur",
+                username, deletion.images().size(), unreferenced.size(), hostedCopyLeft.size());
+        return deletion.images().stream()
+                .map(image -> hostedCopyLeft.contains(image.getId())
+                        ? new BatchDeleteResultDTO(image.getId(), false, "Imgur deletion failed")
+                        : new BatchDeleteResultDTO(image.getId(), true, null))
+                .toList();
+    }
+
+    private record Deletion(List<Image> images, List<List<Image>> unreferenced) {
+    }
+}
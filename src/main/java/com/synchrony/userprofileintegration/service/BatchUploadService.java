@@ -0,0 +1,95 @@
+package com.synchrony.userprofileintegration.service;
+
+import com.synchrony.userprofileintegration.dto.BatchUploadResultDTO;
+import com.synchrony.userprofileintegration.dto.ImageDTO;
+import com.synchrony.userprofileintegration.model.Image;
+import com.synchrony.userprofileintegration.model.ImageContent;
+import exception.ImgurUnavailableException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Service class responsible for uploading many images of one user in a single request.
+ * Files are hashed and uploaded to Imgur in parallel, bounded per request, and the successful ones are
+ * attached to the user in one transaction. Each file gets its own result, so a batch may partially succeed.
+ */
+@Service
+public class BatchUploadService {
+
+    private static final Logger logger = LogManager.getLogger(BatchUploadService.class);
+
+    private final ImageService imageService;
+    private final TaskExecutor imgurBatchExecutor;
+    private final int concurrency;
+
+    @Autowired
+    public BatchUploadService(ImageService imageService,
+                              @Qualifier("imgurBatchExecutor") TaskExecutor imgurBatchExecutor,
+                              @Value("${upload.batch.concurrency:8}") int concurrency) {
+        this.imageService = imageService;
+        this.imgurBatchExecutor = imgurBatchExecutor;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Uploads the files to Imgur and attaches the successful uploads to the user's images.
+     *
+     * @param username the username of the image owner.
+     * @param files the image contents to upload.
+     * @return one result per file, in the order of the files.
+     */
+    public List<BatchUploadResultDTO> uploadImages(String username, List<Resource> files) {
+        int count = files.size();
+        ImageContent[] uploaded = new ImageContent[count];
+        String[] errors = new String[count];
+
+        BoundedFanOut.forEach(count, concurrency, imgurBatchExecutor, index -> {
+            try {
+                uploaded[index] = imageService.hostImage(files.get(index));
+                if (uploaded[index] == null) {
+                    errors[index] = "Image upload failed";
+                }
+            } catch (ImgurUnavailableException e) {
+                errors[index] = e.getMessage();
+            } catch (RuntimeException e) {
+                // One bad file must not fail the batch and orphan the files already hosted
+                logger.error("Upload of {} failed for user: {}", files.get(index).getFilename(), username, e);
+                errors[index] = "Image upload failed";
+            }
+        });
+
+        List<ImageContent> successful = new ArrayList<>();
+        for (ImageContent content : uploaded) {
+            if (content != null) {
+                successful.add(content);
+            }
+        }
+        Iterator<Image> saved = successful.isEmpty()
+                ? List.<Image>of().iterator()
+                : imageService.attachImages(username, successful).iterator();
+        logger.info("Batch upload for user {}: {} of {} files uploaded", username, successful.size(), count);
+
+        List<BatchUploadResultDTO> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String filename = files.get(i).getFilename();
+            if (uploaded[i] == null) {
+                results.add(new BatchUploadResultDTO(filename, false, null, errors[i]));
+            } else {
+                Image image = saved.next();
+                results.add(new BatchUploadResultDTO(filename, true,
+                        new ImageDTO(image.getId(), image.getDeleteHash(), image.getLink()), null));
+            }
+        }
+        return results;
+    }
+}
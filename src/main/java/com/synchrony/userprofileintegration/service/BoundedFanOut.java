@@ -0,0 +1,44 @@
+package com.synchrony.userprofileintegration.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs a task for each index of a batch with a bounded number of indexes in flight.
+ * A fixed number of workers pull the next index, and the calling thread is one of them,
+ * so the call returns once every index has been processed. If the executor rejects a worker,
+ * the batch carries on with the workers it has.
+ */
+final class BoundedFanOut {
+
+    private BoundedFanOut() {
+    }
+
+    static void forEach(int count, int concurrency, Executor executor, IntConsumer task) {
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < count) {
+                task.accept(index);
+            }
+        };
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        try {
+            for (int i = 1; i < Math.min(concurrency, count); i++) {
+                workers.add(CompletableFuture.runAsync(worker, executor));
+            }
+        } catch (RejectedExecutionException e) {
+            // Fewer workers than asked for; the calling thread still guarantees progress
+        }
+        try {
+            worker.run();
+        } finally {
+            CompletableFuture.allOf(workers.toArray(new CompletableFuture[0])).join();
+        }
+    }
+}
@@ -1,25 +1,36 @@
 package com.synchrony.userprofileintegration.service;
 
+import com.synchrony.userprofileintegration.config.AdminAccounts;
 import com.synchrony.userprofileintegration.model.User;
 import com.synchrony.userprofileintegration.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UsernameFilter usernameFilter;
+    private final AdminAccounts adminAccounts;
 
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, UsernameFilter usernameFilter,
+                                    AdminAccounts adminAccounts) {
         this.userRepository = userRepository;
+        this.usernameFilter = usernameFilter;
+        this.adminAccounts = adminAccounts;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // Logins with unknown usernames skip the query; Spring Security still hashes the password for them
+        if (!usernameFilter.mightExist(username)) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
         // Fetch the domain User from the repository
         User domainUser = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
@@ -28,7 +39,16 @@ public class CustomUserDetailsService implements UserDetailsService {
         return org.springframework.security.core.userdetails.User
                 .withUsername(domainUser.getUsername())
                 .password(domainUser.getPassword())
-                .roles("USER") // Hardcoded role for now
+                .roles(adminAccounts.roles(domainUser.getUsername()))
                 .build();
     }
-}
\ No newline at end of file
+
+    // Called after a successful login whose stored hash used an outdated encoding or cost
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+}
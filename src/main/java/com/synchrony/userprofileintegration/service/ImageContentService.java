@@ -0,0 +1,137 @@
+package com.synchrony.userprofileintegration.service;
+
+import com.synchrony.userprofileintegration.model.ImageContent;
+import com.synchrony.userprofileintegration.repository.ImageContentRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Service class responsible for reference counting the hosted copies of image content.
+ * Images with identical bytes share one Imgur upload; the upstream copy is only deleted
+ * when the last image referencing it goes away.
+ */
+@Service
+public class ImageContentService {
+
+    private static final Logger logger = LogManager.getLogger(ImageContentService.class);
+
+    private final ImageContentRepository imageContentRepository;
+
+    @Autowired
+    public ImageContentService(ImageContentRepository imageContentRepository) {
+        this.imageContentRepository = imageContentRepository;
+    }
+
+    /**
+     * Takes a reference to already hosted content, if there is any.
+     *
+     * @param contentHash the SHA-256 of the content.
+     * @return the hosted copy with its reference count incremented, or empty if the content is new.
+     */
+    @Transactional
+    public Optional<ImageContent> acquire(String contentHash) {
+        Optional<ImageContent> found = imageContentRepository.findForUpdate(contentHash);
+        if (found.isPresent() && found.get().getReferenceCount() == 0) {
+            // A released copy that is being deleted upstream cannot be reused; make way for a new upload
+            imageContentRepository.delete(found.get());
+            return Optional.empty();
+        }
+        return found.map(content -> {
+            content.setReferenceCount(content.getReferenceCount() + 1);
+            return content;
+        });
+    }
+
+    /**
+     * Records newly hosted content with a single reference.
+     * Fails with a DataIntegrityViolationException if the same content was registered concurrently.
+     *
+     * @param contentHash the SHA-256 of the content.
+     * @param link the Imgur link of the hosted copy.
+     * @param deleteHash the Imgur delete hash of the hosted copy.
+     * @return the registered content.
+     */
+    @Transactional
+    public ImageContent register(String contentHash, String link, String deleteHash) {
+        ImageContent content = new ImageContent();
+        content.setContentHash(contentHash);
+        content.setLink(link);
+        content.setDeleteHash(deleteHash);
+        content.setReferenceCount(1);
+        return imageContentRepository.saveAndFlush(content);
+    }
+
+    /**
+     * Drops references to hosted content. When no references remain, the content row is kept with a reference
+     * count of zero, so the caller can delete the upstream copy once this transaction has committed and then
+     * remove the row with {@link #forget(String, String)}. No Imgur call is made while the row is locked.
+     *
+     * @param contentHash the SHA-256 of the content.
+     * @param references the number of references to drop.
+     * @return true if no references remain and the upstream copy must be deleted.
+     */
+    @Transactional
+    public boolean release(String contentHash, int references) {
+        Optional<ImageContent> found = imageContentRepository.findForUpdate(contentHash);
+        if (found.isEmpty()) {
+            logger.warn("No hosted content for hash {}, deleting upstream copy directly", contentHash);
+            return true;
+        }
+        ImageContent content = found.get();
+        if (content.getReferenceCount() > references) {
+            content.setReferenceCount(content.getReferenceCount() - references);
+            return false;
+        }
+        content.setReferenceCount(0);
+        return true;
+    }
+
+    /**
+     * Removes the row of released content after its upstream copy was deleted.
+     *
+     * @param contentHash the SHA-256 of the content.
+     * @param deleteHash the Imgur delete hash of the deleted copy.
+     */
+    @Transactional
+    public void forget(String contentHash, String deleteHash) {
+        imageContentRepository.deleteReleased(contentHash, deleteHash);
+    }
+
+    /**
+     * Computes the SHA-256 of a resource, reading it as a stream.
+     *
+     * @param resource the content to hash.
+     * @return the lowercase hex digest.
+     * @throws IOException if the resource cannot be read.
+     */
+    public static String sha256(Resource resource) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = resource.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.synchrony.userprofileintegration.service;
+
+import com.synchrony.userprofileintegration.dto.ImageResponseDTO;
+import com.synchrony.userprofileintegration.model.Image;
+import com.synchrony.userprofileintegration.model.ImageContent;
+import com.synchrony.userprofileintegration.repository.ImageRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service class responsible for uploading images to Imgur and attaching them to a user's profile.
+ * Shared by the synchronous upload endpoint, the batch endpoints and the asynchronous upload jobs.
+ * Images are inserted and deleted directly by user id, so the cost of a write does not depend
+ * on how many images the user already has. Uploads are deduplicated by content hash: identical
+ * bytes share one hosted copy, which is only deleted from Imgur with its last image.
+ */
+@Service
+public class ImageService {
+
+    private static final Logger logger = LogManager.getLogger(ImageService.class);
+
+    /**
+     * Outcome of deleting a single image.
+     */
+    public enum DeleteOutcome {
+        DELETED,
+        // The image was deleted concurrently, before this call removed it
+        NOT_FOUND,
+        // The image is gone from the profile, but its unreferenced Imgur copy could not be deleted
+        HOSTED_COPY_LEFT
+    }
+
+    private final UserService userService;
+    private final ImageRepository imageRepository;
+    private final ImgurService imgurService;
+    private final ImageContentService imageContentService;
+    private final ProfileService profileService;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary uploadSize;
+
+    @Autowired
+    public ImageService(UserService userService, ImageRepository imageRepository, ImgurService imgurService,
+                        ImageContentService imageContentService, ProfileService profileService,
+                        TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.userService = userService;
+        this.imageRepository = imageRepository;
+        this.imgurService = imgurService;
+        this.imageContentService = imageContentService;
+        this.profileService = profileService;
+        this.transactionTemplate = transactionTemplate;
+        this.uploadSize = DistributionSummary.builder("image.upload.size")
+                .description("Size of uploaded image payloads, including deduplicated ones")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Uploads an image to Imgur, unless the same content is already hosted, and adds it to the user's images.
+     * The Imgur round-trip happens outside of any database transaction.
+     *
+     * @param username the username of the image owner.
+     * @param file the image content to upload.
+     * @return the persisted image, or null if the Imgur upload failed.
+     */
+    public Image uploadImage(String username, Resource file) {
+        Long userId = userService.findIdByUsername(username);
+        ImageContent content = hostImage(file);
+        if (content == null) {
+            logger.error("Image upload failed for user: {}", username);
+            return null;
+        }
+        Image image;
+        try {
+            image = imageRepository.save(newImage(userId, content));
+        } catch (RuntimeException e) {
+            discard(List.of(content));
+            throw e;
+        }
+        profileService.imagesChanged(username);
+        return image;
+    }
+
+    /**
+     * Takes a reference to a hosted copy of the content, uploading it to Imgur only if it is not hosted yet.
+     * The caller must attach the returned content to an image, see {@link #attachImages(String, List)}.
+     *
+     * @param file the image content.
+     * @return the hosted content, or null if it could not be read or uploaded.
+     */
+    public ImageContent hostImage(Resource file) {
+        String contentHash;
+        try {
+            uploadSize.record(file.contentLength());
+            contentHash = ImageContentService.sha256(file);
+        } catch (IOException e) {
+            logger.error("Failed to read image content", e);
+            return null;
+        }
+        Optional<ImageContent> existing = imageContentService.acquire(contentHash);
+        if (existing.isPresent()) {
+            logger.info("Reusing hosted copy for content {}", contentHash);
+            return existing.get();
+        }
+        ImageResponseDTO imgurResponse = imgurService.uploadImage(file);
+        if (imgurResponse == null || imgurResponse.getLink() == null) {
+            return null;
+        }
+        try {
+            return imageContentService.register(contentHash, imgurResponse.getLink(), imgurResponse.getDeleteHash());
+        } catch (DataIntegrityViolationException e) {
+            // The same content was uploaded concurrently; keep the copy that won and drop ours
+            logger.info("Content {} was hosted concurrently, dropping duplicate upload", contentHash);
+            imgurService.deleteImage(imgurResponse.getDeleteHash());
+            return imageContentService.acquire(contentHash).orElse(null);
+        }
+    }
+
+    /**
+     * Attaches hosted content to the user's images in one transaction.
+     * If the images cannot be inserted, the references taken by {@link #hostImage(Resource)} are dropped again.
+     *
+     * @param username the username of the image owner.
+     * @param contents the hosted contents, as returned by {@link #hostImage(Resource)}.
+     * @return the persisted images, in the order of the contents.
+     */
+    public List<Image> attachImages(String username, List<ImageContent> contents) {
+        List<Image> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                Long userId = userService.findIdByUsername(username);
+                return imageRepository.saveAll(contents.stream()
+                        .map(content -> newImage(userId, content))
+                        .toList());
+            });
+        } catch (RuntimeException e) {
+            discard(contents);
+            throw e;
+        }
+        profileService.imagesChanged(username);
+        return saved;
+    }
+
+    /**
+     * Finds one of a user's images.
+     *
+     * @param username the username of the image owner.
+     * @param imageId the id of the image.
+     * @return the image, or empty if the user has no image with that id.
+     */
+    public Optional<Image> findImage(String username, Long imageId) {
+        return imageRepository.findByIdAndOwner(imageId, username);
+    }
+
+    /**
+     * Deletes an image from the user's images, and from Imgur if no other image shares its content.
+     * The Imgur deletion happens after the image is gone from the database. The content reference is only
+     * dropped if this call deleted the row, so an image deleted twice concurrently is released once.
+     *
+     * @param username the username of the image owner.
+     * @param image the image to delete, as returned by {@link #findImage(String, Long)}.
+     * @return whether the image and, if it was the last reference, its Imgur copy were deleted.
+     */
+    public DeleteOutcome deleteImage(String username, Image image) {
+        Boolean unreferenced = transactionTemplate.execute(status -> {
+            if (imageRepository.deleteByIdAndUserId(image.getId(), image.getUserId()) == 0) {
+                return null;
+            }
+            return releaseContent(image, 1);
+        });
+        if (unreferenced == null) {
+            return DeleteOutcome.NOT_FOUND;
+        }
+        profileService.imagesChanged(username);
+        if (unreferenced && !deleteHosted(image)) {
+            return DeleteOutcome.HOSTED_COPY_LEFT;
+        }
+        return DeleteOutcome.DELETED;
+    }
+
+    /**
+     * Drops references to an image's hosted content. Images uploaded before deduplication own their
+     * hosted copy, which is always unreferenced once they go.
+     *
+     * @param image an image whose content is released.
+     * @param references the number of images with this content being deleted.
+     * @return true if no references remain and the hosted copy must be deleted with {@link #deleteHosted(Image)}.
+     */
+    public boolean releaseContent(Image image, int references) {
+        return image.getContentHash() == null || imageContentService.release(image.getContentHash(), references);
+    }
+
+    /**
+     * Deletes an unreferenced hosted copy from Imgur. Must be called outside of any database transaction,
+     * after the release committed. A copy that cannot be deleted is left on Imgur and logged.
+     *
+     * @param image an image whose content was released, see {@link #releaseContent(Image, int)}.
+     * @return true if the hosted copy was deleted.
+     */
+    public boolean deleteHosted(Image image) {
+        boolean deleted;
+        try {
+            deleted = imgurService.deleteImage(image.getDeleteHash());
+        } catch (RuntimeException e) {
+            logger.warn("Imgur deletion of {} rejected: {}", image.getDeleteHash(), e.getMessage());
+            deleted = false;
+        }
+        if (!deleted) {
+            logger.error("Imgur deletion failed, hosted copy {} is left behind", image.getDeleteHash());
+            return false;
+        }
+        if (image.getContentHash() != null) {
+            imageContentService.forget(image.getContentHash(), image.getDeleteHash());
+        }
+        return true;
+    }
+
+    // Drops the references taken for contents that never made it into an image
+    private void discard(List<ImageContent> contents) {
+        for (ImageContent content : contents) {
+            Image unattached = newImage(null, content);
+            try {
+                if (releaseContent(unattached, 1)) {
+                    deleteHosted(unattached);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to release content {}", content.getContentHash(), e);
+            }
+        }
+    }
+
+    private static Image newImage(Long userId, ImageContent content) {
+        Image newImage = new Image();
+        newImage.setUserId(userId);
+        newImage.setLink(content.getLink());
+        newImage.setDeleteHash(content.getDeleteHash());
+        newImage.setContentHash(content.getContentHash());
+        return newImage;
+    }
+}
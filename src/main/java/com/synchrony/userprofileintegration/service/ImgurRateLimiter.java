@@ -0,0 +1,274 @@
+package com.synchrony.userprofileintegration.service;
+
+import exception.ImgurRateLimitedException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Paces Imgur calls to the credits Imgur reports in the X-RateLimit headers of its responses.
+ * A token bucket refills at the rate that spreads the remaining credits over the time left until they reset,
+ * so calls are spaced out instead of using the quota up in a burst and then failing with HTTP 429.
+ * A call that would wait longer than its priority allows is shed with an {@link ImgurRateLimitedException}.
+ * Low priority calls (uploads) wait less and may not use the last credits, which are kept for high priority
+ * calls (deletes), so a burst of uploads cannot starve deletes.
+ * <p>
+ * Imgur reports two allowances. The user credits reset at the time given in X-RateLimit-UserReset. The client
+ * credits reset daily, and no header says when, so they are tracked on a window of their own that starts with
+ * the first response reporting them. Calls are paced by whichever allowance runs out sooner, and until Imgur
+ * has reported an allowance, or again once it has reset, that allowance does not pace calls.
+ */
+public class ImgurRateLimiter {
+
+    private static final Logger logger = LogManager.getLogger(ImgurRateLimiter.class);
+
+    private static final Duration CLIENT_WINDOW = Duration.ofDays(1);
+
+    public enum Priority {
+        HIGH, LOW
+    }
+
+    private final boolean enabled;
+    private final int burst;
+    private final int lowPriorityReserve;
+    private final long highPriorityMaxWaitNanos;
+    private final long lowPriorityMaxWaitNanos;
+    private final long clientWindowNanos;
+
+    // All guarded by this; the critical sections only do arithmetic, callers wait outside them
+    private final Allowance user = new Allowance();
+    private final Allowance client = new Allowance();
+    private double tokens;
+    private double tokensPerNano;
+    private long lastRefillNanos;
+
+    /**
+     * @param burst the number of calls that may be made back to back once tokens have built up.
+     * @param lowPriorityReserve the credits low priority calls must leave for high priority ones.
+     * @param highPriorityMaxWait how long a high priority call may wait for a token before it is shed.
+     * @param lowPriorityMaxWait how long a low priority call may wait for a token before it is shed.
+     */
+    public ImgurRateLimiter(int burst, int lowPriorityReserve, Duration highPriorityMaxWait, Duration lowPriorityMaxWait) {
+        this(burst, lowPriorityReserve, highPriorityMaxWait, lowPriorityMaxWait, CLIENT_WINDOW);
+    }
+
+    /**
+     * @param clientWindow how long the client credits last once reported, a day on Imgur.
+     */
+    public ImgurRateLimiter(int burst, int lowPriorityReserve, Duration highPriorityMaxWait, Duration lowPriorityMaxWait,
+                            Duration clientWindow) {
+        this(true, burst, lowPriorityReserve, highPriorityMaxWait, lowPriorityMaxWait, clientWindow);
+    }
+
+    private ImgurRateLimiter(boolean enabled, int burst, int lowPriorityReserve,
+                             Duration highPriorityMaxWait, Duration lowPriorityMaxWait, Duration clientWindow) {
+        this.enabled = enabled;
+        this.burst = burst;
+        this.lowPriorityReserve = lowPriorityReserve;
+        this.highPriorityMaxWaitNanos = highPriorityMaxWait.toNanos();
+        this.lowPriorityMaxWaitNanos = lowPriorityMaxWait.toNanos();
+        this.clientWindowNanos = clientWindow.toNanos();
+    }
+
+    /**
+     * @return a limiter that ignores the rate limit headers and never paces or sheds calls.
+     */
+    public static ImgurRateLimiter unlimited() {
+        return new ImgurRateLimiter(false, 1, 0, Duration.ZERO, Duration.ZERO, CLIENT_WINDOW);
+    }
+
+    /**
+     * Waits until a call of the given priority may be made.
+     *
+     * @throws ImgurRateLimitedException if the call would have to wait longer than its priority allows,
+     *                                   or the thread is interrupted while waiting.
+     */
+    public void acquire(Priority priority) {
+        Duration wait = reserve(priority);
+        if (wait.isZero()) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImgurRateLimitedException(wait);
+        }
+    }
+
+    /**
+     * Reserves a call of the given priority without waiting, for callers that wait without blocking a thread.
+     *
+     * @return how long the caller must wait before making the call.
+     * @throws ImgurRateLimitedException if the call would have to wait longer than its priority allows.
+     */
+    public synchronized Duration reserve(Priority priority) {
+        long now = System.nanoTime();
+        if (expire(now)) {
+            // An allowance has reset; pace by the other one, if any, until a response reports the new allowance
+            tokensPerNano = rate(now);
+        }
+        if (!user.reported && !client.reported) {
+            return Duration.ZERO;
+        }
+        long maxWaitNanos = priority == Priority.HIGH ? highPriorityMaxWaitNanos : lowPriorityMaxWaitNanos;
+        int floor = priority == Priority.HIGH ? 0 : lowPriorityReserve;
+        long untilReset = Math.max(user.untilResetIfSpent(floor, now), client.untilResetIfSpent(floor, now));
+        if (untilReset > 0) {
+            if (untilReset > maxWaitNanos) {
+                throw new ImgurRateLimitedException(Duration.ofNanos(untilReset));
+            }
+            return Duration.ofNanos(untilReset);
+        }
+        refill(now);
+        tokens -= 1;
+        long waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        if (waitNanos > maxWaitNanos) {
+            tokens += 1;
+            throw new ImgurRateLimitedException(Duration.ofNanos(waitNanos));
+        }
+        user.credits--;
+        client.credits--;
+        return Duration.ofNanos(waitNanos);
+    }
+
+    /**
+     * Updates the remaining credits from the headers of an Imgur response. The user credits reset at
+     * X-RateLimit-UserReset, the client credits at the end of their daily window; an HTTP 429 response
+     * stops all calls until its Retry-After has passed.
+     *
+     * @param status the HTTP status code of the response.
+     * @param headers looks up a response header by name, returning null if it is absent.
+     */
+    public void update(int status, Function<String, String> headers) {
+        if (!enabled) {
+            return;
+        }
+        Integer userRemaining = intHeader(headers, "X-RateLimit-UserRemaining");
+        Integer clientRemaining = intHeader(headers, "X-RateLimit-ClientRemaining");
+        Integer userLimit = intHeader(headers, "X-RateLimit-UserLimit");
+        Integer clientLimit = intHeader(headers, "X-RateLimit-ClientLimit");
+        Integer resetEpochSeconds = intHeader(headers, "X-RateLimit-UserReset");
+        Integer retryAfterSeconds = intHeader(headers, "Retry-After");
+
+        long now = System.nanoTime();
+        boolean rateLimited = status == 429 && retryAfterSeconds != null;
+        synchronized (this) {
+            boolean wasPaced = user.reported || client.reported;
+            expire(now);
+            if (rateLimited) {
+                // Imgur does not say which allowance ran out; hold all calls until Retry-After
+                user.report(0, user.limit, now + TimeUnit.SECONDS.toNanos(retryAfterSeconds));
+            } else if (userRemaining != null && resetEpochSeconds != null) {
+                long untilReset = TimeUnit.MILLISECONDS.toNanos(resetEpochSeconds * 1000L - System.currentTimeMillis());
+                if (untilReset > 0) {
+                    user.report(status == 429 ? 0 : userRemaining, userLimit != null ? userLimit : Integer.MAX_VALUE, now + untilReset);
+                }
+            }
+            if (clientRemaining != null) {
+                // The client window is only started by the first report; later ones update the count within it
+                client.report(clientRemaining, clientLimit != null ? clientLimit : Integer.MAX_VALUE,
+                        client.reported ? client.resetAtNanos : now + clientWindowNanos);
+            }
+            if (!user.reported && !client.reported) {
+                return;
+            }
+            if (!wasPaced) {
+                tokens = Math.min(burst, Math.min(user.creditsOrMax(), client.creditsOrMax()));
+                lastRefillNanos = now;
+            } else {
+                refill(now);
+            }
+            tokensPerNano = rate(now);
+        }
+        if (rateLimited) {
+            logger.warn("Imgur rate limit reached, pausing calls for {} s", retryAfterSeconds);
+        }
+    }
+
+    /**
+     * @return the lower of the user and client credits Imgur last reported, less the calls made since,
+     *         or NaN if none have been reported.
+     */
+    public synchronized double remainingCredits() {
+        if (!user.reported && !client.reported) {
+            return Double.NaN;
+        }
+        return Math.min(user.creditsOrMax(), client.creditsOrMax());
+    }
+
+    /**
+     * @return the lower of the user and client credit limits Imgur last reported, or NaN if none has been reported.
+     */
+    public synchronized double creditLimit() {
+        int limit = Math.min(user.reported ? user.limit : Integer.MAX_VALUE, client.reported ? client.limit : Integer.MAX_VALUE);
+        return limit != Integer.MAX_VALUE ? limit : Double.NaN;
+    }
+
+    // Forgets allowances whose reset time has passed; returns true if any was forgotten
+    private boolean expire(long now) {
+        return user.expire(now) | client.expire(now);
+    }
+
+    // Spreads the scarcer of the reported allowances over the time until it resets
+    private double rate(long now) {
+        return Math.min(user.rate(now), client.rate(now));
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+
+    // One of Imgur's credit allowances, guarded by the enclosing limiter
+    private static final class Allowance {
+        private boolean reported;
+        private int limit = Integer.MAX_VALUE;
+        private int credits;
+        private long resetAtNanos;
+
+        void report(int remaining, int limit, long resetAtNanos) {
+            this.reported = true;
+            this.limit = limit;
+            this.credits = remaining;
+            this.resetAtNanos = resetAtNanos;
+        }
+
+        boolean expire(long now) {
+            if (reported && now - resetAtNanos >= 0) {
+                reported = false;
+                return true;
+            }
+            return false;
+        }
+
+        int creditsOrMax() {
+            return reported ? credits : Integer.MAX_VALUE;
+        }
+
+        double rate(long now) {
+            return reported ? (double) Math.max(credits, 0) / Math.max(resetAtNanos - now, 1) : Double.POSITIVE_INFINITY;
+        }
+
+        // How long a call must wait for the reset if this allowance is down to the floor, otherwise 0
+        long untilResetIfSpent(int floor, long now) {
+            return reported && credits <= floor ? resetAtNanos - now : 0;
+        }
+    }
+
+    private static Integer intHeader(Function<String, String> headers, String name) {
+        String value = headers.apply(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            logger.debug("Ignoring malformed {} header: {}", name, value);
+            return null;
+        }
+    }
+}
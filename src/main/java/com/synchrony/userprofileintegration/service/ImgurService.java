@@ -1,26 +1,53 @@
 package com.synchrony.userprofileintegration.service;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.synchrony.userprofileintegration.dto.ImageResponseDTO;
+import com.synchrony.userprofileintegration.dto.ImgurApiResponseDTO;
+import com.synchrony.userprofileintegration.dto.ImgurApiStatusDTO;
+import exception.ImgurRateLimitedException;
+import exception.ImgurUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
-import org.json.JSONObject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 @Service
 public class ImgurService {
 
     private static final Logger logger = LogManager.getLogger(ImgurService.class);
+    private static final String UPLOAD = "upload";
+    private static final String DELETE = "delete";
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+    private static final String REJECTED = "rejected";
 
+    // Responses are bound straight from the body stream, without buffering them into a String first
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final ObjectReader API_RESPONSE_READER = OBJECT_MAPPER.readerFor(ImgurApiResponseDTO.class);
+    private static final ObjectReader API_STATUS_READER = OBJECT_MAPPER.readerFor(ImgurApiStatusDTO.class);
 
     @Value("${imgur.client-id}")
     private String clientId;
@@ -31,52 +58,187 @@ public class ImgurService {
     @Value("${imgur.delete-url}")
     private String IMGUR_DELETE_URL;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    // When enabled, uploads are sent as a binary multipart part read straight from the file stream
+    @Value("${imgur.upload.streaming:false}")
+    private boolean streamingUpload;
 
-    public ImageResponseDTO uploadImage(MultipartFile file) {
-        try {
-            byte[] fileBytes = file.getBytes();
-            String base64Image = java.util.Base64.getEncoder().encodeToString(fileBytes);
+    private final RestTemplate restTemplate;
+    private final UpstreamGuard upstreamGuard;
+    private final MeterRegistry meterRegistry;
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-            headers.set("Authorization", "Client-ID " + clientId);
+    @Autowired
+    public ImgurService(@Qualifier("imgurRestTemplate") RestTemplate restTemplate, UpstreamGuard upstreamGuard,
+                        MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.upstreamGuard = upstreamGuard;
+        this.meterRegistry = meterRegistry;
+        // Register every series up front, so dashboards and alerts see zeros rather than gaps
+        for (String operation : List.of(UPLOAD, DELETE)) {
+            for (String outcome : List.of(SUCCESS, FAILURE, REJECTED)) {
+                timer(operation, outcome);
+            }
+        }
+    }
 
-            MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
-            map.add("image", base64Image);
-            map.add("type", "base64");
+    public ImageResponseDTO uploadImage(MultipartFile file) {
+        return uploadImage(file.getResource());
+    }
 
-            HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(map, headers);
+    public ImageResponseDTO uploadImage(Resource image) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = FAILURE;
+        try {
+            HttpEntity<?> entity = streamingUpload ? streamingEntity(image) : base64Entity(image, clientId);
 
-            ResponseEntity<String> response = restTemplate.postForEntity(IMGUR_UPLOAD_URL, entity, String.class);
-            JSONObject jsonResponse = new JSONObject(response.getBody());
-            if (jsonResponse.getBoolean("success")) {
-                JSONObject data = jsonResponse.getJSONObject("data");
-                logger.info("Imgur upload successful. Link: {}", data.getString("link"));
-                return new ImageResponseDTO(data.getString("link"), data.getString("deletehash"));
-            }
-            else{
-                logger.error("Imgur upload response indicated failure: {}", jsonResponse);
+            // Uploads are not idempotent, so they are only retried when the request never reached Imgur.
+            // They yield to deletes when Imgur credits run low.
+            ImgurApiResponseDTO response = upstreamGuard.execute(UPLOAD, ImgurRateLimiter.Priority.LOW, false,
+                    () -> restTemplate.execute(IMGUR_UPLOAD_URL, HttpMethod.POST, restTemplate.httpEntityCallback(entity),
+                            clientResponse -> parseResponse(clientResponse.getBody())));
+            ImageResponseDTO uploaded = toImageResponse(response);
+            if (uploaded != null) {
+                logger.info("Imgur upload successful. Link: {}", uploaded.getLink());
+                outcome = SUCCESS;
+                return uploaded;
             }
+            logUpstreamFailure(UPLOAD, response);
+        } catch (HttpStatusCodeException e) {
+            logUpstreamFailure(UPLOAD, e);
+        } catch (CallNotPermittedException | BulkheadFullException | ImgurRateLimitedException e) {
+            logger.warn("Imgur upload rejected: {}", e.getMessage());
+            outcome = REJECTED;
+            throw new ImgurUnavailableException(UPLOAD, e);
         } catch (Exception e) {
             logger.error("Exception occurred during Imgur upload", e);
+        } finally {
+            sample.stop(timer(UPLOAD, outcome));
         }
         return null;
     }
 
     public boolean deleteImage(String deleteHash) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = FAILURE;
         try {
             HttpHeaders headers = new HttpHeaders();
             headers.set("Authorization", "Client-ID " + clientId);
             HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(IMGUR_DELETE_URL + deleteHash, HttpMethod.DELETE, entity, String.class);
-            JSONObject jsonResponse = new JSONObject(response.getBody());
-            boolean success = jsonResponse.getBoolean("success");
+            ImgurApiStatusDTO response = upstreamGuard.execute(DELETE, ImgurRateLimiter.Priority.HIGH, true,
+                    () -> restTemplate.execute(IMGUR_DELETE_URL + deleteHash, HttpMethod.DELETE,
+                            restTemplate.httpEntityCallback(entity),
+                            clientResponse -> API_STATUS_READER.<ImgurApiStatusDTO>readValue(clientResponse.getBody())));
+            boolean success = response != null && response.success();
             logger.info("Imgur delete response success: {}", success);
-            return jsonResponse.getBoolean("success");
+            outcome = success ? SUCCESS : FAILURE;
+            return success;
+        } catch (HttpStatusCodeException e) {
+            logUpstreamFailure(DELETE, e);
+        } catch (CallNotPermittedException | BulkheadFullException | ImgurRateLimitedException e) {
+            logger.warn("Imgur delete rejected: {}", e.getMessage());
+            outcome = REJECTED;
+            throw new ImgurUnavailableException(DELETE, e);
         } catch (Exception e) {
             logger.error("Exception occurred during Imgur deletion", e);
+        } finally {
+            sample.stop(timer(DELETE, outcome));
         }
         return false;
     }
-}
\ No newline at end of file
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder("imgur.requests")
+                .description("Imgur API calls, including retries")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Binds an Imgur response body to its typed envelope, reading only the fields the application uses.
+     *
+     * @param body the response body stream.
+     * @return the parsed response.
+     * @throws IOException if the body cannot be read or is not valid JSON.
+     */
+    public static ImgurApiResponseDTO parseResponse(InputStream body) throws IOException {
+        return API_RESPONSE_READER.readValue(body);
+    }
+
+    /**
+     * Extracts the link and delete hash from a parsed upload response.
+     *
+     * @param response the parsed response.
+     * @return the uploaded image details, or null if Imgur reported a failure.
+     */
+    public static ImageResponseDTO toImageResponse(ImgurApiResponseDTO response) {
+        if (response == null || !response.success() || response.data() == null || response.data().link() == null) {
+            return null;
+        }
+        return new ImageResponseDTO(response.data().link(), response.data().deletehash());
+    }
+
+    private static void logUpstreamFailure(String operation, ImgurApiResponseDTO response) {
+        if (response == null) {
+            logger.error("Imgur {} returned an empty response", operation);
+        } else {
+            logger.error("Imgur {} failed with status {}: {}", operation, response.status(), response.errorMessage());
+        }
+    }
+
+    /**
+     * Logs the status and error Imgur reported in an error response, falling back to the HTTP status
+     * when the body is not an Imgur error envelope.
+     */
+    private static void logUpstreamFailure(String operation, HttpStatusCodeException e) {
+        String error = null;
+        byte[] body = e.getResponseBodyAsByteArray();
+        if (body.length > 0) {
+            try {
+                error = API_RESPONSE_READER.<ImgurApiResponseDTO>readValue(body).errorMessage();
+            } catch (IOException parseFailure) {
+                logger.debug("Imgur {} error response is not JSON", operation, parseFailure);
+            }
+        }
+        logger.error("Imgur {} failed with status {}: {}", operation, e.getStatusCode().value(),
+                error != null ? error : e.getStatusText());
+    }
+
+    /**
+     * Builds a form-urlencoded body carrying the whole file as a Base64 string.
+     * The file is held in memory several times over, so this is only suited to small images.
+     */
+    public static HttpEntity<MultiValueMap<String, String>> base64Entity(Resource image, String clientId) throws IOException {
+        byte[] fileBytes;
+        try (InputStream in = image.getInputStream()) {
+            fileBytes = in.readAllBytes();
+        }
+        String base64Image = java.util.Base64.getEncoder().encodeToString(fileBytes);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        headers.set("Authorization", "Client-ID " + clientId);
+
+        MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
+        map.add("image", base64Image);
+        map.add("type", "base64");
+
+        return new HttpEntity<>(map, headers);
+    }
+
+    /**
+     * Builds a multipart body whose image part is copied from the file's input stream
+     * while the request is written, so heap use stays bounded by the copy buffer.
+     */
+    private HttpEntity<MultiValueMap<String, Object>> streamingEntity(Resource image) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        headers.set("Authorization", "Client-ID " + clientId);
+
+        MultiValueMap<String, Object> map = new LinkedMultiValueMap<>();
+        map.add("image", image);
+        map.add("type", "file");
+
+        logger.info("Streaming {} bytes to Imgur", image.contentLength());
+        return new HttpEntity<>(map, headers);
+    }
+}
@@ -0,0 +1,183 @@
+package com.synchrony.userprofileintegration.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.synchrony.userprofileintegration.config.CacheConfig;
+import com.synchrony.userprofileintegration.dto.CacheStatsDTO;
+import com.synchrony.userprofileintegration.dto.ImageDTO;
+import com.synchrony.userprofileintegration.dto.ProfileRowDTO;
+import com.synchrony.userprofileintegration.dto.UserProfileDTO;
+import com.synchrony.userprofileintegration.repository.UserRepository;
+import exception.UserNotFoundException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service class responsible for assembling user profiles.
+ * Profiles are read as one projection query with keyset pagination over the user's images.
+ * The first page is cached per username; concurrent misses for the same user share one load.
+ * Every change to a user's images bumps their images version, which profile responses carry as a strong ETag,
+ * so a client holding the current version can be answered without loading the profile at all.
+ * Each profile records the version it was read at, and the ETag is built from the profile served, never from
+ * a separate read, so a cached profile is never labelled with a newer version than its images.
+ */
+@Service
+public class ProfileService {
+
+    private static final Logger logger = LogManager.getLogger(ProfileService.class);
+
+    private final UserRepository userRepository;
+    private final UsernameFilter usernameFilter;
+    private final CacheManager cacheManager;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    @Autowired
+    public ProfileService(UserRepository userRepository, UsernameFilter usernameFilter, CacheManager cacheManager,
+                          @Value("${profile.images.page-size:100}") int defaultPageSize,
+                          @Value("${profile.images.max-page-size:500}") int maxPageSize) {
+        this.userRepository = userRepository;
+        this.usernameFilter = usernameFilter;
+        this.cacheManager = cacheManager;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Loads the first page of a user's profile using the default page size.
+     *
+     * @param username the username of the user.
+     * @return the assembled profile.
+     * @throws UserNotFoundException if the user does not exist.
+     */
+    @Cacheable(cacheNames = CacheConfig.PROFILES, key = "#username", sync = true)
+    public UserProfileDTO getProfile(String username) {
+        return getProfilePage(username, null, null);
+    }
+
+    /**
+     * Reloads the first page of a user's profile and replaces the cached one.
+     * Used when the cached profile is older than the images version, e.g. because a load that started
+     * before an image change stored its result after the change evicted the cache.
+     *
+     * @param username the username of the user.
+     * @return the assembled profile.
+     * @throws UserNotFoundException if the user does not exist.
+     */
+    @CachePut(cacheNames = CacheConfig.PROFILES, key = "#username")
+    public UserProfileDTO refreshProfile(String username) {
+        return getProfilePage(username, null, null);
+    }
+
+    /**
+     * Loads one page of a user's profile.
+     *
+     * @param username the username of the user.
+     * @param after the id of the last image of the previous page, or null for the first page.
+     * @param limit the maximum number of images to return, or null for the default page size.
+     * @return the assembled profile, with a next cursor if more images follow.
+     * @throws UserNotFoundException if the user does not exist.
+     */
+    public UserProfileDTO getProfilePage(String username, Long after, Integer limit) {
+        logger.info("Loading profile for user: {}", username);
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        // Fetch one extra row to learn whether another page follows
+        List<ProfileRowDTO> rows = userRepository.findProfilePage(username, after == null ? 0L : after,
+                PageRequest.of(0, pageSize + 1));
+        if (rows.isEmpty()) {
+            throw new UserNotFoundException(username);
+        }
+        return assemble(rows, pageSize);
+    }
+
+    /**
+     * Maps the rows of a profile page query to the profile DTO.
+     *
+     * @param rows the rows returned for the page, at most one more than the page size, never empty.
+     * @param pageSize the number of images on the page.
+     * @return the profile, with a next cursor if the query returned more rows than fit on the page.
+     */
+    public static UserProfileDTO assemble(List<ProfileRowDTO> rows, int pageSize) {
+        List<ImageDTO> imageDTOs = rows.stream()
+                .filter(row -> row.getImageId() != null)
+                .limit(pageSize)
+                .map(row -> new ImageDTO(row.getImageId(), row.getDeleteHash(), row.getLink()))
+                .toList();
+        Long nextCursor = rows.size() > pageSize ? imageDTOs.get(imageDTOs.size() - 1).getId() : null;
+        ProfileRowDTO user = rows.get(0);
+        return new UserProfileDTO(user.getUserId(), user.getUsername(), imageDTOs, nextCursor, user.getImagesVersion());
+    }
+
+    /**
+     * Reads the version of a user's images, without loading the profile.
+     * As the first read of every profile request, it also rejects usernames the {@link UsernameFilter} rules out.
+     *
+     * @param username the username of the user.
+     * @return the version, which changes whenever an image is added or deleted.
+     * @throws UserNotFoundException if the user does not exist.
+     */
+    public long getImagesVersion(String username) {
+        if (!usernameFilter.mightExist(username)) {
+            throw new UserNotFoundException(username);
+        }
+        return userRepository.findImagesVersion(username).orElseThrow(() -> new UserNotFoundException(username));
+    }
+
+    /**
+     * Builds the strong ETag of a user's profile responses from their images version.
+     *
+     * @param imagesVersion the version returned by {@link #getImagesVersion(String)}, or the one a profile was read at.
+     * @return the quoted ETag.
+     */
+    public static String eTag(long imagesVersion) {
+        return "\"" + imagesVersion + "\"";
+    }
+
+    /**
+     * Builds the Link header value pointing at the page after a truncated profile.
+     *
+     * @param profile a profile page with a next cursor.
+     * @param limit the page size the client asked for, or null for the default.
+     * @return the link to the next page, with relation type next.
+     */
+    public static String nextPageLink(UserProfileDTO profile, Integer limit) {
+        String next = UriComponentsBuilder.fromPath("/api/users/{username}")
+                .queryParam("after", profile.getNextCursor())
+                .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                .buildAndExpand(profile.getUsername())
+                .toUriString();
+        return "<" + next + ">; rel=\"next\"";
+    }
+
+    /**
+     * Records that a user's images have changed: bumps their images version and drops their cached profile.
+     * Must be called after the change is written, so a version is never paired with an older image list.
+     *
+     * @param username the username of the user.
+     */
+    @CacheEvict(cacheNames = CacheConfig.PROFILES, key = "#username")
+    public void imagesChanged(String username) {
+        userRepository.incrementImagesVersion(username);
+        logger.info("Evicted cached profile for user: {}", username);
+    }
+
+    public CacheStatsDTO getCacheStats() {
+        Cache<Object, Object> cache = ((CaffeineCache) cacheManager.getCache(CacheConfig.PROFILES)).getNativeCache();
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO(cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.hitRate());
+    }
+}
@@ -0,0 +1,45 @@
+package com.synchrony.userprofileintegration.service;
+
+import com.synchrony.userprofileintegration.config.AdminAccounts;
+import com.synchrony.userprofileintegration.repository.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link CustomUserDetailsService}, reading users through R2DBC.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class R2dbcUserDetailsService implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+
+    private final ReactiveUserRepository userRepository;
+    private final AdminAccounts adminAccounts;
+
+    @Autowired
+    public R2dbcUserDetailsService(ReactiveUserRepository userRepository, AdminAccounts adminAccounts) {
+        this.userRepository = userRepository;
+        this.adminAccounts = adminAccounts;
+    }
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return userRepository.findPasswordByUsername(username)
+                .map(password -> User.withUsername(username)
+                        .password(password)
+                        .roles(adminAccounts.roles(username))
+                        .build());
+    }
+
+    // Called after a successful login whose stored hash used an outdated encoding or cost
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+        return userRepository.updatePassword(user.getUsername(), newPassword)
+                .thenReturn(User.withUserDetails(user).password(newPassword).build());
+    }
+}
@@ -0,0 +1,203 @@
+package com.synchrony.userprofileintegration.service;
+
+import com.synchrony.userprofileintegration.dto.ImageResponseDTO;
+import com.synchrony.userprofileintegration.dto.UserProfileDTO;
+import com.synchrony.userprofileintegration.model.Image;
+import com.synchrony.userprofileintegration.model.ImageContent;
+import com.synchrony.userprofileintegration.repository.ReactiveImageRepository;
+import com.synchrony.userprofileintegration.repository.ReactiveUserRepository;
+import exception.UserNotFoundException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Non-blocking counterpart of {@link ImageService} and {@link ProfileService} for the reactive variant of the API.
+ * Uploads follow the same steps: the file is staged to disk, hashed, and only sent to Imgur if that content
+ * is not hosted yet. Staging keeps memory bounded however slow Imgur is, since the request body is written
+ * to disk as it arrives and read back only as fast as Imgur accepts it.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveImageService {
+
+    private static final Logger logger = LogManager.getLogger(ReactiveImageService.class);
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveImageRepository imageRepository;
+    private final ReactiveImgurClient imgurClient;
+    private final TransactionalOperator transactionalOperator;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    @Autowired
+    public ReactiveImageService(ReactiveUserRepository userRepository, ReactiveImageRepository imageRepository,
+                                ReactiveImgurClient imgurClient, TransactionalOperator reactiveTransactionalOperator,
+                                @Value("${profile.images.page-size:100}") int defaultPageSize,
+                                @Value("${profile.images.max-page-size:500}") int maxPageSize) {
+        this.userRepository = userRepository;
+        this.imageRepository = imageRepository;
+        this.imgurClient = imgurClient;
+        this.transactionalOperator = reactiveTransactionalOperator;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Reads the version of a user's images, like {@link ProfileService#getImagesVersion(String)}.
+     *
+     * @return the version, or a UserNotFoundException if the user does not exist.
+     */
+    public Mono<Long> getImagesVersion(String username) {
+        return userRepository.findImagesVersion(username)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(username)));
+    }
+
+    /**
+     * Loads one page of a user's profile, like {@link ProfileService#getProfilePage(String, Long, Integer)}.
+     *
+     * @return the assembled profile, or a UserNotFoundException if the user does not exist.
+     */
+    public Mono<UserProfileDTO> getProfilePage(String username, Long after, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        // Fetch one extra row to learn whether another page follows
+        return userRepository.findProfilePage(username, after == null ? 0L : after, pageSize + 1)
+                .collectList()
+                .flatMap(rows -> rows.isEmpty()
+                        ? Mono.error(new UserNotFoundException(username))
+                        : Mono.just(ProfileService.assemble(rows, pageSize)));
+    }
+
+    /**
+     * Uploads an image to Imgur, unless the same content is already hosted, and adds it to the user's images.
+     *
+     * @param username the username of the image owner.
+     * @param file the uploaded file part.
+     * @return the persisted image, empty if the Imgur upload failed, or a UserNotFoundException.
+     */
+    public Mono<Image> uploadImage(String username, FilePart file) {
+        return userRepository.findIdByUsername(username)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(username)))
+                .flatMap(userId -> Mono.usingWhen(
+                        stage(file),
+                        staged -> sha256(staged).flatMap(contentHash -> attachHosted(userId, contentHash)
+                                .doOnNext(image -> logger.info("Reusing hosted copy for content {}", contentHash))
+                                .switchIfEmpty(Mono.defer(() -> imgurClient.uploadImage(staged)
+                                        .flatMap(uploaded -> attachUploaded(userId, contentHash, uploaded))))),
+                        ReactiveImageService::deleteStagedFile))
+                .doOnNext(image -> logger.info("Image uploaded successfully for user: {}", username))
+                .switchIfEmpty(Mono.fromRunnable(() -> logger.error("Image upload failed for user: {}", username)));
+    }
+
+    // Takes a reference to already hosted content and inserts the image in one transaction; empty if the content is new
+    private Mono<Image> attachHosted(long userId, String contentHash) {
+        return imageRepository.incrementReferenceCount(contentHash)
+                .filter(updated -> updated > 0)
+                .flatMap(updated -> imageRepository.findContent(contentHash))
+                .flatMap(content -> attachImage(userId, content))
+                .as(transactionalOperator::transactional);
+    }
+
+    // Registers a new upload and inserts the image in one transaction. If that fails nothing references the
+    // upload, so it is deleted again; when the content was registered concurrently, the winner's copy is used.
+    private Mono<Image> attachUploaded(long userId, String contentHash, ImageResponseDTO uploaded) {
+        ImageContent content = new ImageContent();
+        content.setContentHash(contentHash);
+        content.setLink(uploaded.getLink());
+        content.setDeleteHash(uploaded.getDeleteHash());
+        content.setReferenceCount(1);
+        return imageRepository.deleteReleasedContent(contentHash)
+                .then(imageRepository.insertContent(contentHash, uploaded.getLink(), uploaded.getDeleteHash()))
+                .then(attachImage(userId, content))
+                .as(transactionalOperator::transactional)
+                .onErrorResume(e -> imgurClient.deleteImage(uploaded.getDeleteHash())
+                        .onErrorReturn(false)
+                        .doOnNext(deleted -> {
+                            if (!deleted) {
+                                logger.error("Imgur deletion failed, hosted copy {} is left behind", uploaded.getDeleteHash());
+                            }
+                        })
+                        .then(e instanceof DataIntegrityViolationException
+                                ? Mono.defer(() -> {
+                                    logger.info("Content {} was hosted concurrently, dropping duplicate upload", contentHash);
+                                    return attachHosted(userId, contentHash);
+                                })
+                                : Mono.error(e)));
+    }
+
+    // The images version is bumped after the insert, so a version is never paired with an older image list
+    private Mono<Image> attachImage(long userId, ImageContent content) {
+        return imageRepository.insertImage(userId, content.getLink(), content.getDeleteHash(), content.getContentHash())
+                .flatMap(id -> userRepository.incrementImagesVersion(userId).thenReturn(id))
+                .map(id -> {
+                    Image image = new Image();
+                    image.setId(id);
+                    image.setUserId(userId);
+                    image.setLink(content.getLink());
+                    image.setDeleteHash(content.getDeleteHash());
+                    image.setContentHash(content.getContentHash());
+                    return image;
+                });
+    }
+
+    // Creating and deleting the temporary file are small blocking calls, kept off the event loop
+    private static Mono<Path> stage(FilePart file) {
+        return Mono.fromCallable(() -> Files.createTempFile("upload-", ".tmp"))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(staged -> file.transferTo(staged).thenReturn(staged)
+                        .onErrorResume(e -> deleteStagedFile(staged).then(Mono.error(e))));
+    }
+
+    private static Mono<Void> deleteStagedFile(Path staged) {
+        return Mono.<Void>fromRunnable(() -> {
+            try {
+                Files.deleteIfExists(staged);
+            } catch (IOException e) {
+                logger.warn("Could not delete staged upload {}", staged, e);
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Hashes the staged file while reading it through asynchronous file I/O.
+     */
+    private static Mono<String> sha256(Path staged) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return Mono.error(new IllegalStateException("SHA-256 is not available", e));
+        }
+        return DataBufferUtils.read(staged, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE)
+                .doOnNext(buffer -> {
+                    try (var iterator = buffer.readableByteBuffers()) {
+                        while (iterator.hasNext()) {
+                            ByteBuffer bytes = iterator.next();
+                            digest.update(bytes);
+                        }
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
+                })
+                .then(Mono.fromSupplier(() -> HexFormat.of().formatHex(digest.digest())));
+    }
+}
@@ -0,0 +1,187 @@
+package com.synchrony.userprofileintegration.service;
+
+import com.synchrony.userprofileintegration.dto.ImageResponseDTO;
+import com.synchrony.userprofileintegration.dto.ImgurApiResponseDTO;
+import com.synchrony.userprofileintegration.dto.ImgurApiStatusDTO;
+import exception.ImgurRateLimitedException;
+import exception.ImgurUnavailableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Non-blocking counterpart of {@link ImgurService} for the reactive variant of the image API.
+ * Uploads stream the staged file from disk as the connection accepts it, so a slow Imgur slows the
+ * reading of the file down rather than letting its bytes pile up in memory.
+ * Calls go through the same rate limiter and circuit breaker, waiting for the rate limiter on a timer rather
+ * than a blocked thread, and are timed under the same imgur.requests metric.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveImgurClient {
+
+    private static final Logger logger = LogManager.getLogger(ReactiveImgurClient.class);
+    private static final String UPLOAD = "upload";
+    private static final String DELETE = "delete";
+
+    @Value("${imgur.client-id}")
+    private String clientId;
+
+    @Value("${imgur.upload-url}")
+    private String uploadUrl;
+
+    @Value("${imgur.delete-url}")
+    private String deleteUrl;
+
+    @Value("${imgur.http.upload-timeout:PT30S}")
+    private Duration uploadTimeout;
+
+    @Value("${imgur.http.delete-timeout:PT5S}")
+    private Duration deleteTimeout;
+
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final ImgurRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ReactiveImgurClient(@Qualifier("imgurWebClient") WebClient webClient, CircuitBreaker imgurCircuitBreaker,
+                               ImgurRateLimiter imgurRateLimiter, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.circuitBreaker = imgurCircuitBreaker;
+        this.rateLimiter = imgurRateLimiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Uploads a staged image file as a binary multipart part.
+     *
+     * @param file the staged file.
+     * @return the uploaded image details, or empty if Imgur reported a failure or could not be reached.
+     * @throws ImgurUnavailableException (signalled) if the circuit breaker is open or the rate limit is reached.
+     */
+    public Mono<ImageResponseDTO> uploadImage(Path file) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("image", new FileSystemResource(file));
+        body.part("type", "file");
+        Mono<ImageResponseDTO> upload = webClient.post()
+                .uri(uploadUrl)
+                .header(HttpHeaders.AUTHORIZATION, "Client-ID " + clientId)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .exchangeToMono(response -> readBody(response, ImgurApiResponseDTO.class))
+                .timeout(uploadTimeout)
+                .flatMap(response -> {
+                    ImageResponseDTO uploaded = ImgurService.toImageResponse(response);
+                    if (uploaded == null) {
+                        logger.error("Imgur upload failed with status {}: {}", response.status(), response.errorMessage());
+                        return Mono.empty();
+                    }
+                    logger.info("Imgur upload successful. Link: {}", uploaded.getLink());
+                    return Mono.just(uploaded);
+                });
+        return guarded(UPLOAD, ImgurRateLimiter.Priority.LOW, upload);
+    }
+
+    /**
+     * Deletes an image from Imgur.
+     *
+     * @param deleteHash the delete hash of the image.
+     * @return true if Imgur confirmed the deletion, false otherwise.
+     * @throws ImgurUnavailableException (signalled) if the circuit breaker is open or the rate limit is reached.
+     */
+    public Mono<Boolean> deleteImage(String deleteHash) {
+        Mono<Boolean> delete = webClient.delete()
+                .uri(deleteUrl + deleteHash)
+                .header(HttpHeaders.AUTHORIZATION, "Client-ID " + clientId)
+                .exchangeToMono(response -> readBody(response, ImgurApiStatusDTO.class))
+                .timeout(deleteTimeout)
+                .map(ImgurApiStatusDTO::success);
+        return guarded(DELETE, ImgurRateLimiter.Priority.HIGH, delete).defaultIfEmpty(false);
+    }
+
+    /**
+     * Binds a successful response body as it streams in; error statuses become a WebClientResponseException,
+     * whose body is decoded for the log, so the circuit breaker can tell them apart.
+     */
+    private static <T> Mono<T> readBody(ClientResponse response, Class<T> type) {
+        if (response.statusCode().isError()) {
+            return response.createException().flatMap(Mono::error);
+        }
+        return response.bodyToMono(type);
+    }
+
+    /**
+     * Runs a call through the rate limiter, the circuit breaker and the metrics, turning rejections into
+     * ImgurUnavailableException and any other failure into an empty result, like the blocking client.
+     */
+    private <T> Mono<T> guarded(String operation, ImgurRateLimiter.Priority priority, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return Mono.defer(() -> {
+                        Duration wait = rateLimiter.reserve(priority);
+                        return wait.isZero() ? Mono.<Long>empty() : Mono.delay(wait);
+                    })
+                    .then(call.transformDeferred(CircuitBreakerOperator.of(circuitBreaker)))
+                    .doOnSuccess(result -> sample.stop(timer(operation, result != null ? "success" : "failure")))
+                    .onErrorResume(e -> {
+                        if (e instanceof CallNotPermittedException || e instanceof ImgurRateLimitedException) {
+                            logger.warn("Imgur {} rejected: {}", operation, e.getMessage());
+                            sample.stop(timer(operation, "rejected"));
+                            return Mono.error(new ImgurUnavailableException(operation, e));
+                        }
+                        if (e instanceof WebClientResponseException.TooManyRequests tooManyRequests) {
+                            logger.warn("Imgur {} rate limited upstream", operation);
+                            sample.stop(timer(operation, "rejected"));
+                            return Mono.error(new ImgurUnavailableException(operation, new ImgurRateLimitedException(
+                                    UpstreamGuard.retryAfter(tooManyRequests.getHeaders()), e)));
+                        }
+                        logFailure(operation, e);
+                        sample.stop(timer(operation, "failure"));
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    private static void logFailure(String operation, Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            ImgurApiResponseDTO body = null;
+            try {
+                body = response.getResponseBodyAs(ImgurApiResponseDTO.class);
+            } catch (RuntimeException decodeFailure) {
+                logger.debug("Imgur {} error response is not JSON", operation, decodeFailure);
+            }
+            logger.error("Imgur {} failed with status {}: {}", operation, response.getStatusCode().value(),
+                    body != null && body.errorMessage() != null ? body.errorMessage() : response.getStatusText());
+        } else {
+            logger.error("Exception occurred during Imgur {}", operation, e);
+        }
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder("imgur.requests")
+                .description("Imgur API calls, including retries")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
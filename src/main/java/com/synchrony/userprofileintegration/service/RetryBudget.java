@@ -0,0 +1,41 @@
+package com.synchrony.userprofileintegration.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits retries to a fraction of the calls made, so a failing upstream is not hit with a retry storm.
+ * Every call deposits {@code ratio} of a retry token and every retry withdraws a whole one.
+ */
+public class RetryBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final long depositPerCall;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    /**
+     * @param ratio the fraction of calls that may be retried, e.g. 0.2 for one retry per five calls.
+     * @param maxRetries the number of retries that can be saved up, which is also the initial balance.
+     */
+    public RetryBudget(double ratio, int maxRetries) {
+        this.depositPerCall = Math.round(ratio * TOKEN);
+        this.maxBalance = maxRetries * TOKEN;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public void recordCall() {
+        balance.updateAndGet(current -> Math.min(maxBalance, current + depositPerCall));
+    }
+
+    public boolean tryAcquireRetry() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
@@ -0,0 +1,147 @@
+package com.synchrony.userprofileintegration.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class responsible for issuing and verifying short-lived HMAC-signed access tokens.
+ * A token is checked with a signature comparison only, so authenticated requests need neither
+ * BCrypt nor a database lookup once the password has been verified at login.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger logger = LogManager.getLogger(TokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ThreadLocal<Mac> macs;
+    // Revoked token ids, kept until the token would have expired anyway
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenService(@Value("${auth.token.secret:}") String secret,
+                        @Value("${auth.token.ttl:PT15M}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    public TokenService(String secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(secretBytes(secret), ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Issues a token for a user whose credentials have already been verified.
+     *
+     * @param username the authenticated username.
+     * @return the signed token and its expiry.
+     */
+    public IssuedToken issue(String username) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        String payload = UUID.randomUUID() + ":" + expiresAt.getEpochSecond() + ":" + username;
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return new IssuedToken(encodedPayload + "." + sign(encodedPayload), expiresAt);
+    }
+
+    /**
+     * Verifies a token's signature, expiry and revocation status.
+     *
+     * @param token the token presented by the client.
+     * @return the username the token was issued to, or empty if the token is not valid.
+     */
+    public Optional<String> verify(String token) {
+        return parse(token)
+                .filter(claims -> clock.instant().isBefore(claims.expiresAt))
+                .filter(claims -> !revoked.containsKey(claims.id))
+                .map(claims -> claims.username);
+    }
+
+    /**
+     * Revokes a token so it is rejected before it expires.
+     *
+     * @param token the token to revoke.
+     * @return true if the token was valid and is now revoked.
+     */
+    public boolean revoke(String token) {
+        Instant now = clock.instant();
+        revoked.values().removeIf(expiresAt -> !now.isBefore(expiresAt));
+        Optional<Claims> claims = parse(token).filter(c -> now.isBefore(c.expiresAt));
+        claims.ifPresent(c -> revoked.put(c.id, c.expiresAt));
+        return claims.isPresent();
+    }
+
+    private Optional<Claims> parse(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+        String encodedPayload = token.substring(0, dot);
+        byte[] expected = sign(encodedPayload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return Optional.empty();
+        }
+        try {
+            String[] parts = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split(":", 3);
+            return Optional.of(new Claims(parts[0], Instant.ofEpochSecond(Long.parseLong(parts[1])), parts[2]));
+        } catch (RuntimeException e) {
+            logger.warn("Rejected malformed token payload");
+            return Optional.empty();
+        }
+    }
+
+    private String sign(String encodedPayload) {
+        byte[] signature = macs.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        return ENCODER.encodeToString(signature);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            logger.warn("auth.token.secret is not set; using a random key, so tokens will not survive a restart");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    private record Claims(String id, Instant expiresAt, String username) {
+    }
+}
@@ -0,0 +1,200 @@
+package com.synchrony.userprofileintegration.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.synchrony.userprofileintegration.dto.ImageDTO;
+import com.synchrony.userprofileintegration.dto.UploadJobDTO;
+import com.synchrony.userprofileintegration.model.Image;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service class responsible for running image uploads in the background.
+ * Files are staged to a temporary file so the request thread can return immediately,
+ * and the upload itself runs on the bounded upload executor. Finished jobs are kept for
+ * their status to be polled, and expire once the retention has passed, whether or not
+ * further uploads arrive.
+ */
+@Service
+public class UploadJobService {
+
+    private static final Logger logger = LogManager.getLogger(UploadJobService.class);
+
+    private final ImageService imageService;
+    private final TaskExecutor uploadExecutor;
+    private final Cache<String, UploadJob> jobs;
+
+    @Autowired
+    public UploadJobService(ImageService imageService,
+                            @Qualifier("uploadExecutor") TaskExecutor uploadExecutor,
+                            @Value("${upload.async.job-retention:PT1H}") Duration jobRetention) {
+        this.imageService = imageService;
+        this.uploadExecutor = uploadExecutor;
+        // The scheduler removes expired jobs even when the cache is not otherwise touched
+        this.jobs = Caffeine.newBuilder()
+                .expireAfter(new FinishedJobExpiry(jobRetention))
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+    }
+
+    /**
+     * Stages the file and queues its upload.
+     *
+     * @param username the username of the image owner.
+     * @param file the image file to upload.
+     * @return the pending job.
+     * @throws IOException if the file could not be staged.
+     * @throws TaskRejectedException if the upload executor is saturated.
+     */
+    public UploadJobDTO submit(String username, MultipartFile file) throws IOException {
+        Path staged = Files.createTempFile("upload-", ".tmp");
+        UploadJob job = new UploadJob(UUID.randomUUID().toString(), username, file.getOriginalFilename());
+        try {
+            file.transferTo(staged);
+            jobs.put(job.id, job);
+            uploadExecutor.execute(() -> run(job, staged));
+        } catch (IOException | RuntimeException e) {
+            // Once queued, the job deletes the staged file itself; until then it is ours to clean up
+            jobs.invalidate(job.id);
+            deleteStagedFile(staged);
+            throw e;
+        }
+        logger.info("Queued upload job {} for user: {}", job.id, username);
+        return job.toDTO();
+    }
+
+    /**
+     * Looks up an upload job belonging to the given user.
+     *
+     * @param username the username of the image owner.
+     * @param jobId the id returned when the job was submitted.
+     * @return the job state, or empty if no such job exists for this user.
+     */
+    public Optional<UploadJobDTO> findJob(String username, String jobId) {
+        UploadJob job = jobs.getIfPresent(jobId);
+        if (job == null || !job.username.equals(username)) {
+            return Optional.empty();
+        }
+        return Optional.of(job.toDTO());
+    }
+
+    private void run(UploadJob job, Path staged) {
+        try {
+            Image image = imageService.uploadImage(job.username, new StagedFileResource(staged, job.filename));
+            if (image == null) {
+                job.fail("Image upload failed");
+            } else {
+                job.complete(new ImageDTO(image.getId(), image.getDeleteHash(), image.getLink()));
+                logger.info("Upload job {} completed for user: {}", job.id, job.username);
+            }
+        } catch (Exception e) {
+            logger.error("Upload job {} failed for user: {}", job.id, job.username, e);
+            job.fail("Image upload failed");
+        } finally {
+            deleteStagedFile(staged);
+            // Write the finished job back, so its retention starts now
+            jobs.asMap().replace(job.id, job);
+        }
+    }
+
+    private static void deleteStagedFile(Path staged) {
+        try {
+            Files.deleteIfExists(staged);
+        } catch (IOException e) {
+            logger.warn("Could not delete staged upload {}", staged, e);
+        }
+    }
+
+    private static class UploadJob {
+        private final String id;
+        private final String username;
+        private final String filename;
+        private volatile UploadJobDTO.Status status = UploadJobDTO.Status.PENDING;
+        private volatile ImageDTO image;
+        private volatile String error;
+        private volatile Instant finishedAt;
+
+        UploadJob(String id, String username, String filename) {
+            this.id = id;
+            this.username = username;
+            this.filename = filename;
+        }
+
+        void complete(ImageDTO image) {
+            this.image = image;
+            this.finishedAt = Instant.now();
+            this.status = UploadJobDTO.Status.DONE;
+        }
+
+        void fail(String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.status = UploadJobDTO.Status.FAILED;
+        }
+
+        UploadJobDTO toDTO() {
+            return new UploadJobDTO(id, status, image, error);
+        }
+    }
+
+    /**
+     * Keeps jobs while they run, and for the retention once they have finished.
+     */
+    private static class FinishedJobExpiry implements Expiry<String, UploadJob> {
+        private final long retentionNanos;
+
+        FinishedJobExpiry(Duration retention) {
+            this.retentionNanos = retention.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String id, UploadJob job, long currentTime) {
+            return job.finishedAt == null ? Long.MAX_VALUE : retentionNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String id, UploadJob job, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, job, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String id, UploadJob job, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Staged temporary file that still reports the client's original filename to Imgur.
+     */
+    private static class StagedFileResource extends FileSystemResource {
+        private final String filename;
+
+        StagedFileResource(Path path, String filename) {
+            super(path);
+            this.filename = filename;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename != null ? filename : super.getFilename();
+        }
+    }
+}
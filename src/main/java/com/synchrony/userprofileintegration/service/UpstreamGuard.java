@@ -0,0 +1,164 @@
+package com.synchrony.userprofileintegration.service;
+
+import exception.ImgurRateLimitedException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs upstream calls through the rate limiter, a bulkhead and a circuit breaker, retrying safe failures
+ * with jittered exponential backoff while the retry budget allows it.
+ */
+public class UpstreamGuard {
+
+    private static final Logger logger = LogManager.getLogger(UpstreamGuard.class);
+    // Delay suggested to clients when Imgur answers 429 without saying how long to wait
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(60);
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final ImgurRateLimiter rateLimiter;
+    private final RetryBudget retryBudget;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public UpstreamGuard(CircuitBreaker circuitBreaker, Bulkhead bulkhead, ImgurRateLimiter rateLimiter,
+                         RetryBudget retryBudget, int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.rateLimiter = rateLimiter;
+        this.retryBudget = retryBudget;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Executes an upstream call.
+     *
+     * Every attempt waits for the rate limiter first, outside the bulkhead, so waiting calls do not hold its permits.
+     *
+     * @param operation a short name for the call, used in logs.
+     * @param priority the rate limiter priority of the call.
+     * @param idempotent whether the call may be repeated after the request could have reached the upstream.
+     * @param call the upstream call.
+     * @return the result of the first successful attempt.
+     * @throws exception.ImgurRateLimitedException if the rate limit does not allow the call soon enough,
+     *         or Imgur still answers 429 Too Many Requests when no retry is left.
+     * @throws io.github.resilience4j.circuitbreaker.CallNotPermittedException if the breaker is open.
+     * @throws io.github.resilience4j.bulkhead.BulkheadFullException if too many calls are in flight.
+     */
+    public <T> T execute(String operation, ImgurRateLimiter.Priority priority, boolean idempotent, Supplier<T> call) {
+        retryBudget.recordCall();
+        int attempt = 1;
+        while (true) {
+            rateLimiter.acquire(priority);
+            try {
+                return bulkhead.executeSupplier(() -> circuitBreaker.executeSupplier(call));
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !isRetryable(e, idempotent) || !retryBudget.tryAcquireRetry()) {
+                    throw rateLimitedOr(e);
+                }
+                Duration backoff = backoff(attempt);
+                logger.warn("Imgur {} attempt {} failed, retrying in {} ms: {}",
+                        operation, attempt, backoff.toMillis(), e.getMessage());
+                if (!sleep(backoff)) {
+                    throw rateLimitedOr(e);
+                }
+                attempt++;
+            }
+        }
+    }
+
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Failures the upstream is known not to have acted on are always safe to retry.
+     * Other I/O and server errors are only retried for idempotent calls.
+     */
+    static boolean isRetryable(RuntimeException e, boolean idempotent) {
+        if (e instanceof HttpClientErrorException.TooManyRequests) {
+            return true;
+        }
+        if (e instanceof ResourceAccessException) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException) {
+                return true;
+            }
+            return idempotent;
+        }
+        return idempotent && e instanceof HttpServerErrorException;
+    }
+
+    /**
+     * Counts I/O errors, server errors and rate limiting as upstream failures.
+     * Other client errors describe a bad request rather than an unhealthy upstream.
+     * Covers both the blocking client's exceptions and those of the reactive WebClient.
+     */
+    public static boolean isUpstreamFailure(Throwable e) {
+        if (e instanceof HttpClientErrorException) {
+            return e instanceof HttpClientErrorException.TooManyRequests;
+        }
+        if (e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+            return response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return true;
+    }
+
+    // A final 429 is reported like a call the rate limiter refused, so the client is told when to come back
+    private RuntimeException rateLimitedOr(RuntimeException e) {
+        if (e instanceof HttpClientErrorException.TooManyRequests tooManyRequests) {
+            return new ImgurRateLimitedException(retryAfter(tooManyRequests.getResponseHeaders()), e);
+        }
+        return e;
+    }
+
+    /**
+     * Reads the delay a 429 response asks for from its Retry-After header, given in seconds.
+     *
+     * @param headers the response headers, may be null.
+     * @return the delay before the call may be repeated, or a default if the header is missing or not in seconds.
+     */
+    public static Duration retryAfter(HttpHeaders headers) {
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value != null) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(value.trim()));
+            } catch (NumberFormatException e) {
+                // An HTTP date; Imgur sends seconds, so the default is close enough
+            }
+        }
+        return DEFAULT_RETRY_AFTER;
+    }
+
+    private Duration backoff(int attempt) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << (attempt - 1));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.synchrony.userprofileintegration.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.synchrony.userprofileintegration.dto.UserImportSummaryDTO;
+import com.synchrony.userprofileintegration.dto.UserRequestDTO;
+import com.synchrony.userprofileintegration.model.User;
+import com.synchrony.userprofileintegration.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service class responsible for importing many users from an NDJSON or CSV stream.
+ * The stream is read in fixed-size chunks, so memory use does not grow with the input.
+ * Each chunk's passwords are hashed in parallel and its users are inserted in JDBC batches in one transaction.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LogManager.getLogger(UserImportService.class);
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor passwordHashExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectReader ndjsonReader;
+    private final int batchSize;
+    private final int maxReportedFailures;
+
+    @Autowired
+    public UserImportService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                             @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor,
+                             TransactionTemplate transactionTemplate, EntityManager entityManager,
+                             ObjectMapper objectMapper,
+                             @Value("${user.import.batch-size:500}") int batchSize,
+                             @Value("${user.import.max-reported-failures:100}") int maxReportedFailures) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.ndjsonReader = objectMapper.readerFor(UserRequestDTO.class);
+        this.batchSize = batchSize;
+        this.maxReportedFailures = maxReportedFailures;
+    }
+
+    /**
+     * Imports users from a stream of NDJSON objects or CSV rows.
+     * NDJSON lines are objects with "username" and "password" fields. CSV rows are
+     * "username,password", with an optional header row; the password is everything after the first comma.
+     *
+     * @param input the stream to read; it is read to the end but not closed.
+     * @param format the format of the stream.
+     * @return the number of imported and failed users, with the first failures listed.
+     * @throws IOException if the stream cannot be read.
+     */
+    public UserImportSummaryDTO importUsers(InputStream input, Format format) throws IOException {
+        Progress progress = new Progress();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<Candidate> chunk = new ArrayList<>(batchSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && isCsvHeader(line))) {
+                continue;
+            }
+            Candidate candidate = parse(line, lineNumber, format, progress);
+            if (candidate != null) {
+                chunk.add(candidate);
+            }
+            if (chunk.size() == batchSize) {
+                importChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, progress);
+        }
+        logger.info("User import finished: {} imported, {} failed", progress.imported, progress.failed);
+        return new UserImportSummaryDTO(progress.imported, progress.failed, progress.failures);
+    }
+
+    private Candidate parse(String line, long lineNumber, Format format, Progress progress) {
+        String username;
+        String password;
+        if (format == Format.CSV) {
+            int comma = line.indexOf(',');
+            username = comma < 0 ? line : line.substring(0, comma);
+            password = comma < 0 ? null : line.substring(comma + 1);
+        } else {
+            try {
+                UserRequestDTO request = ndjsonReader.readValue(line);
+                username = request.getUsername();
+                password = request.getPassword();
+            } catch (JsonProcessingException e) {
+                progress.fail(lineNumber, null, "Malformed line");
+                return null;
+            }
+        }
+        if (username == null || username.isBlank() || password == null || password.isEmpty()) {
+            progress.fail(lineNumber, username, "Username and password are required");
+            return null;
+        }
+        return new Candidate(lineNumber, username.trim(), password);
+    }
+
+    private void importChunk(List<Candidate> chunk, Progress progress) {
+        // Earlier chunks are already committed, so this also catches duplicates across chunks
+        Set<String> taken = new HashSet<>(userRepository.findExistingUsernames(
+                chunk.stream().map(Candidate::username).toList()));
+        List<Candidate> accepted = new ArrayList<>(chunk.size());
+        for (Candidate candidate : chunk) {
+            if (taken.add(candidate.username())) {
+                accepted.add(candidate);
+            } else {
+                progress.fail(candidate.lineNumber(), candidate.username(), "Username already exists");
+            }
+        }
+
+        User[] users = new User[accepted.size()];
+        BoundedFanOut.forEach(users.length, passwordHashExecutor.getMaxPoolSize(), passwordHashExecutor, index -> {
+            Candidate candidate = accepted.get(index);
+            User user = new User();
+            user.setUsername(candidate.username());
+            user.setPassword(passwordEncoder.encode(candidate.password()));
+            users[index] = user;
+        });
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(Arrays.asList(users));
+                // Flush the batch now and detach it, so the persistence context does not grow across chunks
+                entityManager.flush();
+                entityManager.clear();
+            });
+            progress.imported += users.length;
+        } catch (DataAccessException e) {
+            logger.error("Failed to insert a batch of {} imported users", users.length, e);
+            for (Candidate candidate : accepted) {
+                progress.fail(candidate.lineNumber(), candidate.username(), "Insert failed");
+            }
+        }
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.trim().equalsIgnoreCase("username,password");
+    }
+
+    private record Candidate(long lineNumber, String username, String password) {
+    }
+
+    private class Progress {
+        private long imported;
+        private long failed;
+        private final List<UserImportSummaryDTO.Failure> failures = new ArrayList<>();
+
+        private void fail(long lineNumber, String username, String reason) {
+            failed++;
+            if (failures.size() < maxReportedFailures) {
+                failures.add(new UserImportSummaryDTO.Failure(lineNumber, username, reason));
+            }
+        }
+    }
+}
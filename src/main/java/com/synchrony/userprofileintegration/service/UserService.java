@@ -2,7 +2,9 @@ package com.synchrony.userprofileintegration.service;
 import com.synchrony.userprofileintegration.model.User;
 import com.synchrony.userprofileintegration.repository.UserRepository;
 import exception.UserNotFoundException;
+import exception.UsernameTakenException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import java.util.Optional;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -11,30 +13,47 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 /**
  * Service class responsible for handling user registration, updates, and retrieval.
  * It ensures that user passwords are securely encoded before persistence.
+ * Usernames that the {@link UsernameFilter} rules out are answered without a database query.
  */
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UsernameFilter usernameFilter;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder){
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UsernameFilter usernameFilter){
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.usernameFilter = usernameFilter;
     }
 
     /**
      * Registers a new user by encoding the password and saving the user data.
-     * If a user already exists, the same method can be used to update the profile.
      *
-     * @param user the user details to be registered or updated.
+     * @param user the user details to be registered.
      * @return the persisted user entity.
+     * @throws UsernameTakenException if a user with this username already exists.
      */
     public User registerUser(User user) {
+        // Only a username the filter cannot rule out needs checking, and that happens before paying for the hash.
+        // The unique constraint still catches two registrations racing for the same name.
+        if (usernameFilter.mightExist(user.getUsername())
+                && userRepository.findIdByUsername(user.getUsername()).isPresent()) {
+            throw new UsernameTakenException(user.getUsername());
+        }
         // Securely encode the user's password
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race to a concurrent registration of the same name
+            if (userRepository.findIdByUsername(user.getUsername()).isPresent()) {
+                throw new UsernameTakenException(user.getUsername());
+            }
+            throw e;
+        }
     }
 
     /**
@@ -44,9 +63,25 @@ public class UserService {
      * @return an Optional containing the user if found, or empty if not.
      */
     public Optional<User> findByUsername(String username) {
-        User user = userRepository.findByUsername(username)
+        if (!usernameFilter.mightExist(username)) {
+            return Optional.empty();
+        }
+        return userRepository.findByUsername(username);
+    }
+
+    /**
+     * Retrieves only the id of a user, for writes that reference the user without loading it.
+     *
+     * @param username the unique username of the user.
+     * @return the id of the user.
+     * @throws UserNotFoundException if the user does not exist.
+     */
+    public Long findIdByUsername(String username) {
+        if (!usernameFilter.mightExist(username)) {
+            throw new UserNotFoundException(username);
+        }
+        return userRepository.findIdByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException(username));
-        return Optional.of(user);
     }
 
     public User updateUser(User user) {
@@ -0,0 +1,103 @@
+package com.synchrony.userprofileintegration.service;
+
+import com.synchrony.userprofileintegration.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Keeps a {@link BloomFilter} over all usernames in memory, so lookups of usernames that certainly do not exist
+ * are answered without a database query. A "no" from {@link #mightExist(String)} is definite; a "yes" still needs
+ * the database.
+ * The filter is filled from the users table once all beans are created, before the application takes requests.
+ * Usernames are added before every user insert by {@link UsernameFilterListener}, so a user is never missed.
+ * This assumes the users table is only written through this application, as with the embedded H2 database;
+ * with users.filter.enabled=false every lookup goes to the database.
+ */
+@Service
+public class UsernameFilter implements SmartInitializingSingleton {
+
+    private static final Logger logger = LogManager.getLogger(UsernameFilter.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final Counter rejected;
+
+    // Null until the filter is created; until it is loaded as well, every username might exist
+    private volatile BloomFilter filter;
+    private volatile boolean loaded;
+
+    @Autowired
+    public UsernameFilter(UserRepository userRepository, TransactionTemplate transactionTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${users.filter.enabled:true}") boolean enabled,
+                          @Value("${users.filter.expected-users:1000000}") long expectedUsers,
+                          @Value("${users.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rejected = Counter.builder("users.filter.rejected")
+                .description("Username lookups answered by the Bloom filter without a database query")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        // Leave room for twice the current users, so registrations do not push up the false positive rate soon
+        BloomFilter loading = new BloomFilter(Math.max(expectedUsers, userRepository.count() * 2), falsePositiveRate);
+        // Published before the load, so users inserted meanwhile are added to it too
+        filter = loading;
+        long[] count = new long[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                usernames.forEach(username -> {
+                    loading.put(username);
+                    count[0]++;
+                });
+            }
+        });
+        loaded = true;
+        logger.info("Loaded {} usernames into a {} KiB Bloom filter in {} ms", count[0], loading.bitCount() / 8 / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @param username the username to look up.
+     * @return false if no user has this username; true if one might, which only the database can confirm.
+     */
+    public boolean mightExist(String username) {
+        if (username == null || !loaded || filter.mightContain(username)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Records a username about to be inserted. Called before the insert, so the filter never misses a user
+     * that exists; if the insert fails, the username only adds to the false positives.
+     */
+    public void add(String username) {
+        BloomFilter current = filter;
+        if (current != null && username != null) {
+            current.put(username);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.synchrony.userprofileintegration.service;
+
+import com.synchrony.userprofileintegration.model.User;
+import jakarta.persistence.PrePersist;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Adds the username of every user about to be inserted to the {@link UsernameFilter}, whether it is inserted
+ * by registration, the bulk import or a repository directly.
+ * Hibernate creates it through Spring, which injects the filter; where there is no UsernameFilter bean,
+ * as in repository test slices, it does nothing.
+ */
+public class UsernameFilterListener {
+
+    @Autowired
+    private ObjectProvider<UsernameFilter> usernameFilter;
+
+    @PrePersist
+    public void addUsername(User user) {
+        if (usernameFilter != null) {
+            usernameFilter.ifAvailable(filter -> filter.add(user.getUsername()));
+        }
+    }
+}
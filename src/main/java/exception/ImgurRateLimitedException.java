@@ -0,0 +1,23 @@
+package exception;
+
+import java.time.Duration;
+
+// Thrown before a call is made, when the remaining Imgur credits do not allow it soon enough,
+// or after a call Imgur kept rejecting with 429 Too Many Requests
+public class ImgurRateLimitedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ImgurRateLimitedException(Duration retryAfter) {
+        this(retryAfter, null);
+    }
+
+    public ImgurRateLimitedException(Duration retryAfter, Throwable cause) {
+        super("Imgur rate limit reached, retry in " + Math.max(retryAfter.toSeconds(), 1) + " s", cause);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,11 @@
+package exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ImgurUnavailableException extends RuntimeException {
+    public ImgurUnavailableException(String operation, Throwable cause) {
+        super("Imgur is unavailable for " + operation, cause);
+    }
+}
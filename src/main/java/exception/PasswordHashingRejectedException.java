@@ -0,0 +1,13 @@
+package exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// An AuthenticationException, so a rejected login check in the security filters reaches the entry point
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+    public PasswordHashingRejectedException(Throwable cause) {
+        super("Password hashing is overloaded, try again later", cause);
+    }
+}
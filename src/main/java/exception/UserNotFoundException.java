@@ -1,9 +1,9 @@
 package exception;
 
+// An expected outcome of lookups by username, so it carries no stack trace: filling one in for every
+// request naming an unknown user would cost more than the lookup itself
 public class UserNotFoundException extends RuntimeException {
     public UserNotFoundException(String username) {
-        super("User not found: " + username);
+        super("User not found: " + username, null, false, false);
     }
 }
-
-
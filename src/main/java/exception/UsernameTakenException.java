@@ -0,0 +1,8 @@
+package exception;
+
+// Thrown when registering a username that already belongs to a user; like UserNotFoundException, without a stack trace
+public class UsernameTakenException extends RuntimeException {
+    public UsernameTakenException(String username) {
+        super("Username already taken: " + username, null, false, false);
+    }
+}
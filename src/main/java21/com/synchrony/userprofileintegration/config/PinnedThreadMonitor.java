@@ -0,0 +1,64 @@
+package com.synchrony.userprofileintegration.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier while blocked, typically because they
+ * block inside a synchronized block or method. Each occurrence is counted in virtual.threads.pinned
+ * and logged with the stack that held the monitor, so the offending lock can be replaced.
+ * Backed by the JDK's jdk.VirtualThreadPinned flight recorder event.
+ */
+@Component
+@ConditionalOnProperty(name = {"threads.virtual.enabled", "threads.virtual.pinning-diagnostics"}, havingValue = "true")
+public class PinnedThreadMonitor implements DisposableBean {
+
+    private static final Logger logger = LogManager.getLogger(PinnedThreadMonitor.class);
+    private static final int LOGGED_FRAMES = 12;
+
+    private final RecordingStream recording;
+    private final Counter pinned;
+
+    public PinnedThreadMonitor(@Value("${threads.virtual.pinning-threshold:PT0.02S}") Duration threshold,
+                               MeterRegistry meterRegistry) {
+        this.pinned = Counter.builder("virtual.threads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+        this.recording = new RecordingStream();
+        recording.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        recording.onEvent("jdk.VirtualThreadPinned", this::report);
+        recording.startAsync();
+        logger.info("Reporting virtual threads pinned for longer than {} ms", threshold.toMillis());
+    }
+
+    private void report(RecordedEvent event) {
+        pinned.increment();
+        String stack = event.getStackTrace() == null ? "  (no stack trace)" : event.getStackTrace().getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(PinnedThreadMonitor::format)
+                .collect(Collectors.joining("\n"));
+        logger.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), stack);
+    }
+
+    private static String format(RecordedFrame frame) {
+        return "  at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void destroy() {
+        recording.close();
+    }
+}
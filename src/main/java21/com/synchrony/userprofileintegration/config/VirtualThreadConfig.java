@@ -0,0 +1,51 @@
+package com.synchrony.userprofileintegration.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs blocking I/O on virtual threads: Tomcat handles every request on its own virtual thread,
+ * so the Imgur calls made while handling it no longer hold a platform thread, and the upload
+ * executors start virtual workers while keeping their concurrency limits.
+ * Password hashing is CPU-bound and stays on its platform thread pool.
+ * Requires Java 21; only compiled under the java21 Maven profile.
+ */
+@Configuration
+@ConditionalOnProperty(name = "threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LogManager.getLogger(VirtualThreadConfig.class);
+
+    private static final Set<String> IO_EXECUTORS = Set.of("uploadExecutor", "imgurBatchExecutor");
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        logger.info("Handling requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Gives the I/O-bound executors a virtual thread factory before they are initialized.
+     */
+    @Bean
+    public static BeanPostProcessor virtualThreadExecutorPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof ThreadPoolTaskExecutor executor && IO_EXECUTORS.contains(beanName)) {
+                    executor.setThreadFactory(Thread.ofVirtual().name(executor.getThreadNamePrefix(), 0).factory());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+-- Initial schema, matching the JPA mappings in the model package.
+-- Hibernate validates against it on startup under the prod profile (ddl-auto=validate).
+
+-- User ids are allocated in blocks of 50 so inserts can be batched, see User
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id       BIGINT       NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    -- Also the index behind every lookup by username
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE image_contents (
+    content_hash    VARCHAR(64)  NOT NULL,
+    imgur_link      VARCHAR(255),
+    delete_hash     VARCHAR(255),
+    reference_count INTEGER      NOT NULL,
+    version         BIGINT,
+    CONSTRAINT pk_image_contents PRIMARY KEY (content_hash)
+);
+
+CREATE TABLE images (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    imgur_link   VARCHAR(255),
+    delete_hash  VARCHAR(255),
+    content_hash VARCHAR(64),
+    user_id      BIGINT       NOT NULL,
+    CONSTRAINT pk_images PRIMARY KEY (id),
+    CONSTRAINT fk_images_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Keyset pagination cursor: WHERE user_id = ? AND id > ? ORDER BY id.
+-- Its leading column also serves plain lookups by user_id and the foreign key.
+CREATE INDEX idx_images_user_id_id ON images (user_id, id);
+
+-- Finds the images sharing a hosted copy, see ImageContentService
+CREATE INDEX idx_images_content_hash ON images (content_hash);
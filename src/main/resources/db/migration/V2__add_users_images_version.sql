@@ -0,0 +1,2 @@
+-- Per-user version of the image list, bumped on every upload and delete; profile ETags are built from it
+ALTER TABLE users ADD COLUMN images_version BIGINT DEFAULT 0 NOT NULL;
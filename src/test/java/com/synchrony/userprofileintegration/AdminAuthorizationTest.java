@@ -0,0 +1,104 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.model.User;
+import com.synchrony.userprofileintegration.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "imgur.client-id=test-client",
+        "imgur.client-secret=test-secret",
+        "imgur.upload-url=http://localhost:1/upload",
+        "imgur.delete-url=http://localhost:1/delete/",
+        "password.hashing.bcrypt-cost=4",
+        "auth.admin-usernames=import-admin"
+})
+@AutoConfigureMockMvc
+class AdminAuthorizationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void importUsers_ShouldBeForbiddenToUsersWithoutTheAdminRole() throws Exception {
+        String imported = "imported-" + UUID.randomUUID();
+        String username = user("importer-" + UUID.randomUUID());
+
+        mockMvc.perform(importRequest(username, imported)).andExpect(status().isForbidden());
+
+        assertTrue(userRepository.findIdByUsername(imported).isEmpty());
+    }
+
+    @Test
+    void importUsers_ShouldBeAllowedToAdmins() throws Exception {
+        String imported = "imported-" + UUID.randomUUID();
+        user("import-admin");
+
+        mockMvc.perform(importRequest("import-admin", imported))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedCount").value(1));
+
+        assertTrue(userRepository.findIdByUsername(imported).isPresent());
+    }
+
+    @Test
+    void adminStatistics_ShouldBeForbiddenToUsersWithoutTheAdminRole() throws Exception {
+        String username = user("reader-" + UUID.randomUUID());
+
+        mockMvc.perform(get("/api/admin/cache/profiles").header(HttpHeaders.AUTHORIZATION, basic(username)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/imgur/pool").header(HttpHeaders.AUTHORIZATION, basic(username)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminStatistics_ShouldBeReadableByAdmins() throws Exception {
+        user("import-admin");
+
+        mockMvc.perform(get("/api/admin/imgur/pool").header(HttpHeaders.AUTHORIZATION, basic("import-admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.max").exists());
+    }
+
+    private static MockHttpServletRequestBuilder importRequest(String username, String imported) {
+        return post("/api/users/import")
+                .header(HttpHeaders.AUTHORIZATION, basic(username))
+                .contentType("text/csv")
+                .content(imported + ",imported-secret\n");
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":secret").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String user(String username) {
+        if (userRepository.findIdByUsername(username).isEmpty()) {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(passwordEncoder.encode("secret"));
+            userRepository.save(user);
+        }
+        return username;
+    }
+}
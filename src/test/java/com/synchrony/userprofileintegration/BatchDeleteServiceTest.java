@@ -0,0 +1,128 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.dto.BatchDeleteResultDTO;
+import com.synchrony.userprofileintegration.model.Image;
+import com.synchrony.userprofileintegration.repository.ImageRepository;
+import com.synchrony.userprofileintegration.service.BatchDeleteService;
+import com.synchrony.userprofileintegration.service.ImageService;
+import com.synchrony.userprofileintegration.service.ProfileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class BatchDeleteServiceTest {
+
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private ProfileService profileService;
+
+    private BatchDeleteService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new BatchDeleteService(imageService, imageRepository, profileService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleAsyncTaskExecutor(), 4);
+    }
+
+    @Test
+    void deleteImages_ShouldRemoveFoundImagesInOneStatementAndDeleteOnlyUnreferencedCopies() {
+        given(imageRepository.findAllByIdInAndUserIdForUpdate(Set.of(1L, 2L, 3L, 99L), 7L))
+                .willReturn(List.of(image(1L), image(2L), image(3L)));
+        given(imageService.releaseContent(any(Image.class), eq(1)))
+                .willAnswer(invocation -> invocation.<Image>getArgument(0).getId() != 2L);
+        given(imageService.deleteHosted(any(Image.class))).willReturn(true);
+
+        List<BatchDeleteResultDTO> results = service.deleteImages("alice", 7L, List.of(3L, 99L, 1L, 2L, 1L));
+
+        assertEquals(List.of(3L, 99L, 1L, 2L), results.stream().map(BatchDeleteResultDTO::getImageId).toList());
+        assertTrue(results.get(0).isDeleted());
+        assertEquals("Image not found", results.get(1).getError());
+        assertTrue(results.get(2).isDeleted());
+        assertTrue(results.get(3).isDeleted());
+        verify(imageRepository).deleteAllByIdInAndUserId(argThat(ids -> Set.copyOf(ids).equals(Set.of(1L, 2L, 3L))), eq(7L));
+        verify(profileService).imagesChanged("alice");
+        verify(imageService).deleteHosted(argThat(image -> image.getId() == 1L));
+        verify(imageService).deleteHosted(argThat(image -> image.getId() == 3L));
+        verify(imageService, never()).deleteHosted(argThat(image -> image.getId() == 2L));
+    }
+
+    @Test
+    void deleteAllImages_ShouldReleaseSharedContentOnce() {
+        given(imageRepository.findAllByUserIdForUpdate(7L)).willReturn(List.of(image(1L, "same"), image(2L, "same"), image(3L, null)));
+        given(imageService.releaseContent(any(Image.class), anyInt())).willReturn(true);
+        given(imageService.deleteHosted(any(Image.class))).willReturn(true);
+
+        List<BatchDeleteResultDTO> results = service.deleteAllImages("alice", 7L);
+
+        assertEquals(List.of(1L, 2L, 3L), results.stream().map(BatchDeleteResultDTO::getImageId).toList());
+        assertTrue(results.stream().allMatch(BatchDeleteResultDTO::isDeleted));
+        verify(imageService).releaseContent(argThat(image -> image.getId() == 1L), eq(2));
+        verify(imageService).releaseContent(argThat(image -> image.getId() == 3L), eq(1));
+        verify(imageService, times(2)).releaseContent(any(Image.class), anyInt());
+        verify(imageService, times(2)).deleteHosted(any(Image.class));
+    }
+
+    @Test
+    void deleteAllImages_ShouldReportImagesWhoseHostedCopyWasNotDeleted() {
+        given(imageRepository.findAllByUserIdForUpdate(7L)).willReturn(List.of(image(1L, "same"), image(2L, "same"), image(3L, null)));
+        given(imageService.releaseContent(any(Image.class), anyInt())).willReturn(true);
+        given(imageService.deleteHosted(argThat(image -> image != null && image.getId() == 1L))).willReturn(false);
+        given(imageService.deleteHosted(argThat(image -> image != null && image.getId() == 3L))).willReturn(true);
+
+        List<BatchDeleteResultDTO> results = service.deleteAllImages("alice", 7L);
+
+        assertFalse(results.get(0).isDeleted());
+        assertEquals("Imgur deletion failed", results.get(0).getError());
+        assertFalse(results.get(1).isDeleted());
+        assertTrue(results.get(2).isDeleted());
+    }
+
+    @Test
+    void deleteImages_ShouldReleaseNothingWhenTheImagesWereDeletedConcurrently() {
+        given(imageRepository.findAllByIdInAndUserIdForUpdate(Set.of(1L), 7L)).willReturn(List.of());
+
+        List<BatchDeleteResultDTO> results = service.deleteImages("alice", 7L, List.of(1L));
+
+        assertEquals("Image not found", results.get(0).getError());
+        verify(imageService, never()).releaseContent(any(Image.class), anyInt());
+        verify(imageRepository, never()).deleteAllByIdInAndUserId(any(), any());
+        verify(imageService, never()).deleteHosted(any(Image.class));
+    }
+
+    private static Image image(Long id) {
+        return image(id, null);
+    }
+
+    private static Image image(Long id, String contentHash) {
+        Image image = new Image();
+        image.setId(id);
+        image.setUserId(7L);
+        image.setDeleteHash("hash" + id);
+        image.setContentHash(contentHash);
+        return image;
+    }
+}
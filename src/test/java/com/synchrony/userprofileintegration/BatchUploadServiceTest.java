@@ -0,0 +1,178 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.dto.BatchUploadResultDTO;
+import com.synchrony.userprofileintegration.model.Image;
+import com.synchrony.userprofileintegration.model.ImageContent;
+import com.synchrony.userprofileintegration.service.BatchUploadService;
+import com.synchrony.userprofileintegration.service.ImageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class BatchUploadServiceTest {
+
+    private static final long UPLOAD_MILLIS = 300;
+
+    @Mock
+    private ImageService imageService;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(16);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void uploadImages_ShouldUploadInParallelAndReportPartialSuccess() {
+        given(imageService.hostImage(any(Resource.class))).willAnswer(invocation -> {
+            Thread.sleep(UPLOAD_MILLIS);
+            String filename = invocation.<Resource>getArgument(0).getFilename();
+            if (filename.equals("broken.png")) {
+                return null;
+            }
+            ImageContent content = new ImageContent();
+            content.setLink("https://i.imgur.com/" + filename);
+            content.setDeleteHash(filename);
+            return content;
+        });
+        given(imageService.attachImages(eq("alice"), anyList())).willAnswer(invocation -> {
+            List<Image> images = new ArrayList<>();
+            for (ImageContent content : invocation.<List<ImageContent>>getArgument(1)) {
+                Image image = new Image();
+                image.setId((long) images.size() + 1);
+                image.setLink(content.getLink());
+                image.setDeleteHash(content.getDeleteHash());
+                images.add(image);
+            }
+            return images;
+        });
+        List<Resource> files = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            files.add(file("cat" + i + ".png"));
+        }
+        files.add(3, file("broken.png"));
+        BatchUploadService service = new BatchUploadService(imageService, executor, 8);
+
+        long start = System.nanoTime();
+        List<BatchUploadResultDTO> results = service.uploadImages("alice", files);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 2 * UPLOAD_MILLIS,
+                "8 uploads took " + elapsedMillis + " ms, expected close to a single upload");
+        assertEquals(8, results.size());
+        assertFalse(results.get(3).isUploaded());
+        assertEquals("broken.png", results.get(3).getFilename());
+        assertEquals("https://i.imgur.com/cat3.png", results.get(4).getImage().getLink());
+        assertEquals(7, results.stream().filter(BatchUploadResultDTO::isUploaded).count());
+        verify(imageService, times(1)).attachImages(eq("alice"), anyList());
+    }
+
+    @Test
+    void uploadImages_ShouldReportAnUnexpectedFailureAsAFailedFile() {
+        given(imageService.hostImage(any(Resource.class))).willAnswer(invocation -> {
+            String filename = invocation.<Resource>getArgument(0).getFilename();
+            if (filename.equals("corrupt.png")) {
+                throw new IllegalStateException("unreadable");
+            }
+            ImageContent content = new ImageContent();
+            content.setLink("https://i.imgur.com/" + filename);
+            content.setDeleteHash(filename);
+            return content;
+        });
+        given(imageService.attachImages(eq("alice"), anyList())).willAnswer(invocation ->
+                invocation.<List<ImageContent>>getArgument(1).stream().map(content -> {
+                    Image image = new Image();
+                    image.setLink(content.getLink());
+                    return image;
+                }).toList());
+        BatchUploadService service = new BatchUploadService(imageService, executor, 2);
+
+        List<BatchUploadResultDTO> results = service.uploadImages("alice",
+                List.of(file("cat0.png"), file("corrupt.png"), file("cat1.png")));
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isUploaded());
+        assertFalse(results.get(1).isUploaded());
+        assertEquals("Image upload failed", results.get(1).getError());
+        assertEquals("https://i.imgur.com/cat1.png", results.get(2).getImage().getLink());
+        verify(imageService).attachImages(eq("alice"), argThat(contents -> contents.size() == 2));
+    }
+
+    @Test
+    void uploadImages_ShouldRunOnTheCallingThreadWhenThePoolIsSaturated() throws InterruptedException {
+        ThreadPoolTaskExecutor saturated = new ThreadPoolTaskExecutor();
+        saturated.setCorePoolSize(1);
+        saturated.setMaxPoolSize(1);
+        saturated.setQueueCapacity(0);
+        saturated.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        saturated.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        saturated.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Set<Thread> uploadThreads = ConcurrentHashMap.newKeySet();
+        given(imageService.hostImage(any(Resource.class))).willAnswer(invocation -> {
+            uploadThreads.add(Thread.currentThread());
+            ImageContent content = new ImageContent();
+            content.setLink("https://i.imgur.com/" + invocation.<Resource>getArgument(0).getFilename());
+            return content;
+        });
+        given(imageService.attachImages(eq("alice"), anyList())).willAnswer(invocation ->
+                invocation.<List<ImageContent>>getArgument(1).stream().map(content -> new Image()).toList());
+        BatchUploadService service = new BatchUploadService(imageService, saturated, 4);
+
+        try {
+            List<BatchUploadResultDTO> results = service.uploadImages("alice",
+                    List.of(file("cat0.png"), file("cat1.png"), file("cat2.png")));
+
+            assertTrue(results.stream().allMatch(BatchUploadResultDTO::isUploaded));
+            assertEquals(Set.of(Thread.currentThread()), uploadThreads);
+        } finally {
+            release.countDown();
+            saturated.shutdown();
+        }
+    }
+
+    private static Resource file(String filename) {
+        return new ByteArrayResource(new byte[]{1, 2, 3}) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        };
+    }
+}
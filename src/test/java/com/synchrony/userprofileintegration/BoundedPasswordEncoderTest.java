@@ -0,0 +1,108 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.config.BoundedPasswordEncoder;
+import com.synchrony.userprofileintegration.config.PasswordHashingConfig;
+import exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class BoundedPasswordEncoderTest {
+
+    private ThreadPoolTaskExecutor executor;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        executor = new PasswordHashingConfig().passwordHashExecutor(1, 1);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void encode_ShouldRejectWhenAllHashingThreadsAreBusy() throws Exception {
+        PasswordEncoder encoder = new BoundedPasswordEncoder(PasswordHashingConfig.delegatingPasswordEncoder(4), executor, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        // One task occupies the only hashing thread, the other the only queue slot
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                awaitQuietly(release);
+                done.countDown();
+            });
+        }
+
+        assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("secret"));
+
+        release.countDown();
+        done.await();
+        String hash = encoder.encode("secret");
+        assertTrue(hash.startsWith("{bcrypt}$2a$04$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertEquals(1, meterRegistry.get("password.hashing.rejected").counter().count());
+        assertEquals(1, meterRegistry.get("password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void upgradeEncoding_ShouldFlagLegacyAndOtherCostHashes() {
+        PasswordEncoder cost4 = PasswordHashingConfig.delegatingPasswordEncoder(4);
+        PasswordEncoder cost5 = PasswordHashingConfig.delegatingPasswordEncoder(5);
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+        String current = cost4.encode("secret");
+
+        assertTrue(cost4.matches("secret", legacy));
+        assertTrue(cost4.upgradeEncoding(legacy));
+        assertFalse(cost4.upgradeEncoding(current));
+        assertTrue(cost5.upgradeEncoding(current), "weaker hashes are upgraded");
+        assertTrue(cost4.upgradeEncoding(cost5.encode("secret")), "stronger hashes are downgraded");
+    }
+
+    @Test
+    void login_ShouldRehashOutdatedPasswordToCurrentCost() {
+        String legacy = new BCryptPasswordEncoder(5).encode("secret");
+        UserDetails user = User.withUsername("alice").password(legacy).roles("USER").build();
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        UserDetailsPasswordService passwordService = mock(UserDetailsPasswordService.class);
+        given(userDetailsService.loadUserByUsername("alice")).willReturn(user);
+        given(passwordService.updatePassword(eq(user), startsWith("{bcrypt}$2a$04$"))).willReturn(user);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(passwordService);
+        provider.setPasswordEncoder(new BoundedPasswordEncoder(PasswordHashingConfig.delegatingPasswordEncoder(4), executor, meterRegistry));
+
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("alice", "secret"));
+
+        verify(passwordService).updatePassword(eq(user), startsWith("{bcrypt}$2a$04$"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.config.CorrelationIdFilter;
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @AfterEach
+    void tearDown() {
+        ThreadContext.clearMap();
+    }
+
+    @Test
+    void wellFormedHeader_ShouldBeUsedWhileHandlingTheRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, "req-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> seen.set(ThreadContext.get(CorrelationIdFilter.CONTEXT_KEY)));
+
+        assertEquals("req-42", seen.get());
+        assertEquals("req-42", response.getHeader(CorrelationIdFilter.HEADER));
+        assertNull(ThreadContext.get(CorrelationIdFilter.CONTEXT_KEY), "the ID must not leak to the next request");
+    }
+
+    @Test
+    void malformedHeader_ShouldBeReplacedWithAGeneratedId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, "forged\nERROR line");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        String correlationId = response.getHeader(CorrelationIdFilter.HEADER);
+        assertNotNull(correlationId);
+        assertNotEquals("forged\nERROR line", correlationId);
+    }
+
+    @Test
+    void propagator_ShouldCarryTheSubmitterContextAndRestoreTheRunnerContext() {
+        ThreadContext.put(CorrelationIdFilter.CONTEXT_KEY, "request-1");
+        AtomicReference<String> seen = new AtomicReference<>();
+        Runnable task = CorrelationIdFilter.threadContextPropagator().decorate(
+                () -> seen.set(ThreadContext.get(CorrelationIdFilter.CONTEXT_KEY)));
+
+        // The thread that runs it may have a context of its own, e.g. a request thread under CallerRunsPolicy
+        ThreadContext.put(CorrelationIdFilter.CONTEXT_KEY, "request-2");
+        task.run();
+
+        assertEquals("request-1", seen.get());
+        assertEquals("request-2", ThreadContext.get(CorrelationIdFilter.CONTEXT_KEY));
+    }
+}
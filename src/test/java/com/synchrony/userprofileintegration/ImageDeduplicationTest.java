@@ -0,0 +1,180 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.dto.BatchDeleteResultDTO;
+import com.synchrony.userprofileintegration.dto.ImageResponseDTO;
+import com.synchrony.userprofileintegration.model.Image;
+import com.synchrony.userprofileintegration.model.ImageContent;
+import com.synchrony.userprofileintegration.model.User;
+import com.synchrony.userprofileintegration.repository.ImageContentRepository;
+import com.synchrony.userprofileintegration.repository.UserRepository;
+import com.synchrony.userprofileintegration.service.BatchDeleteService;
+import com.synchrony.userprofileintegration.service.ImageContentService;
+import com.synchrony.userprofileintegration.service.ImageService;
+import com.synchrony.userprofileintegration.service.ImgurService;
+import com.synchrony.userprofileintegration.service.ProfileService;
+import com.synchrony.userprofileintegration.service.UserService;
+import com.synchrony.userprofileintegration.service.UsernameFilter;
+import exception.UserNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@Import({ImageService.class, ImageContentService.class, UserService.class, UsernameFilter.class,
+        BatchDeleteService.class, SimpleMeterRegistry.class, ImageDeduplicationTest.Executors.class})
+class ImageDeduplicationTest {
+
+    @TestConfiguration
+    static class Executors {
+        @Bean
+        TaskExecutor imgurBatchExecutor() {
+            return new SyncTaskExecutor();
+        }
+    }
+
+    @MockBean
+    private ImgurService imgurService;
+
+    @MockBean
+    private ProfileService profileService;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private BatchDeleteService batchDeleteService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ImageContentRepository imageContentRepository;
+
+    @Test
+    void identicalUploads_ShouldShareOneHostedCopyUntilTheLastReferenceIsDeleted() {
+        given(imgurService.uploadImage(any(Resource.class)))
+                .willReturn(new ImageResponseDTO("https://i.imgur.com/cat.png", "cat-hash"));
+        given(imgurService.deleteImage("cat-hash")).willReturn(true);
+        user("carol");
+        user("dave");
+
+        Image first = imageService.uploadImage("carol", content("same bytes"));
+        Image second = imageService.uploadImage("dave", content("same bytes"));
+
+        verify(imgurService, times(1)).uploadImage(any(Resource.class));
+        assertEquals(first.getLink(), second.getLink());
+        assertEquals(first.getContentHash(), second.getContentHash());
+        assertEquals(2, imageContentRepository.findById(first.getContentHash()).orElseThrow().getReferenceCount());
+
+        imageService.deleteImage("carol", first);
+        verify(imgurService, never()).deleteImage("cat-hash");
+        assertEquals(1, imageContentRepository.findById(first.getContentHash()).orElseThrow().getReferenceCount());
+
+        assertEquals(ImageService.DeleteOutcome.DELETED, imageService.deleteImage("dave", second));
+        verify(imgurService, times(1)).deleteImage("cat-hash");
+        assertTrue(imageContentRepository.findById(first.getContentHash()).isEmpty());
+    }
+
+    @Test
+    void repeatedDelete_ShouldReleaseTheSharedContentOnlyOnce() {
+        given(imgurService.uploadImage(any(Resource.class)))
+                .willReturn(new ImageResponseDTO("https://i.imgur.com/owl.png", "owl-hash"));
+        user("erin");
+        user("frank");
+
+        Image erins = imageService.uploadImage("erin", content("shared bytes"));
+        imageService.uploadImage("frank", content("shared bytes"));
+
+        // The second call acts like a concurrent delete that looked the image up before the first one committed
+        assertEquals(ImageService.DeleteOutcome.DELETED, imageService.deleteImage("erin", erins));
+        assertEquals(ImageService.DeleteOutcome.NOT_FOUND, imageService.deleteImage("erin", erins));
+
+        assertEquals(1, imageContentRepository.findById(erins.getContentHash()).orElseThrow().getReferenceCount());
+        verify(imgurService, never()).deleteImage("owl-hash");
+    }
+
+    @Test
+    void lastDelete_ShouldReportAHostedCopyImgurDidNotDelete() {
+        given(imgurService.uploadImage(any(Resource.class)))
+                .willReturn(new ImageResponseDTO("https://i.imgur.com/bat.png", "bat-hash"));
+        given(imgurService.deleteImage("bat-hash")).willReturn(false);
+        user("ivy");
+
+        Image image = imageService.uploadImage("ivy", content("bat bytes"));
+
+        assertEquals(ImageService.DeleteOutcome.HOSTED_COPY_LEFT, imageService.deleteImage("ivy", image));
+        assertTrue(imageService.findImage("ivy", image.getId()).isEmpty());
+    }
+
+    @Test
+    void bulkDelete_ShouldLockTheImagesAndReleaseEachOnlyOnce() {
+        given(imgurService.uploadImage(any(Resource.class)))
+                .willReturn(new ImageResponseDTO("https://i.imgur.com/fox.png", "fox-hash"));
+        given(imgurService.deleteImage("fox-hash")).willReturn(true);
+        user("gina");
+        user("hank");
+
+        Image first = imageService.uploadImage("gina", content("fox bytes"));
+        Image second = imageService.uploadImage("gina", content("fox bytes"));
+        imageService.uploadImage("hank", content("fox bytes"));
+
+        List<BatchDeleteResultDTO> results =
+                batchDeleteService.deleteImages("gina", first.getUserId(), List.of(first.getId(), second.getId()));
+        List<BatchDeleteResultDTO> repeated =
+                batchDeleteService.deleteImages("gina", first.getUserId(), List.of(first.getId()));
+
+        assertTrue(results.stream().allMatch(BatchDeleteResultDTO::isDeleted));
+        assertFalse(repeated.get(0).isDeleted());
+        assertEquals(1, imageContentRepository.findById(first.getContentHash()).orElseThrow().getReferenceCount());
+        verify(imgurService, never()).deleteImage("fox-hash");
+    }
+
+    @Test
+    void failedAttach_ShouldDropTheReferenceAndDeleteTheHostedCopy() {
+        given(imgurService.uploadImage(any(Resource.class)))
+                .willReturn(new ImageResponseDTO("https://i.imgur.com/dog.png", "dog-hash"));
+        given(imgurService.deleteImage("dog-hash")).willReturn(true);
+
+        ImageContent content = imageService.hostImage(content("orphan bytes"));
+        assertEquals(1, imageContentRepository.findById(content.getContentHash()).orElseThrow().getReferenceCount());
+
+        assertThrows(UserNotFoundException.class, () -> imageService.attachImages("nobody", List.of(content)));
+
+        verify(imgurService, times(1)).deleteImage("dog-hash");
+        assertTrue(imageContentRepository.findById(content.getContentHash()).isEmpty());
+    }
+
+    private void user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("encoded");
+        userRepository.save(user);
+    }
+
+    private static Resource content(String text) {
+        return new ByteArrayResource(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,116 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.dto.ImageResponseDTO;
+import com.synchrony.userprofileintegration.model.Image;
+import com.synchrony.userprofileintegration.model.User;
+import com.synchrony.userprofileintegration.repository.ImageRepository;
+import com.synchrony.userprofileintegration.repository.UserRepository;
+import com.synchrony.userprofileintegration.service.ImageContentService;
+import com.synchrony.userprofileintegration.service.ImageService;
+import com.synchrony.userprofileintegration.service.ImgurService;
+import com.synchrony.userprofileintegration.service.ProfileService;
+import com.synchrony.userprofileintegration.service.UserService;
+import com.synchrony.userprofileintegration.service.UsernameFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ImageService.class, ImageContentService.class, UserService.class, UsernameFilter.class,
+        SimpleMeterRegistry.class})
+class ImageWriteStatementCountTest {
+
+    @MockBean
+    private ImgurService imgurService;
+
+    @MockBean
+    private ProfileService profileService;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void imageWrites_ShouldIssueTheSameStatementsRegardlessOfExistingImages() {
+        given(imgurService.uploadImage(any(Resource.class))).willAnswer(invocation ->
+                new ImageResponseDTO("https://i.imgur.com/cat.png", UUID.randomUUID().toString()));
+        given(imgurService.deleteImage(anyString())).willReturn(true);
+
+        long[] withoutImages = statementsPerWrite(user("alice", 0));
+        long[] withManyImages = statementsPerWrite(user("bob", 500));
+
+        // Upload: user id lookup, content lookup, content insert, image insert.
+        // Delete: owner-checked lookup, image delete, content lookup, content release, released content delete.
+        assertArrayEquals(new long[]{4, 5}, withoutImages);
+        assertArrayEquals(withoutImages, withManyImages);
+    }
+
+    private long[] statementsPerWrite(String username) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        Image image = imageService.uploadImage(username, new ByteArrayResource(new byte[]{1, 2, 3}));
+        long uploadStatements = statistics.getPrepareStatementCount();
+        assertNotNull(image.getId());
+
+        statistics.clear();
+        Image stored = imageService.findImage(username, image.getId()).orElseThrow();
+        imageService.deleteImage(username, stored);
+        long deleteStatements = statistics.getPrepareStatementCount();
+        assertFalse(imageRepository.existsById(image.getId()));
+
+        return new long[]{uploadStatements, deleteStatements};
+    }
+
+    private String user(String username, int images) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("encoded");
+        Long userId = userRepository.save(user).getId();
+        List<Image> existing = new ArrayList<>();
+        for (int i = 0; i < images; i++) {
+            Image image = new Image();
+            image.setUserId(userId);
+            image.setLink("https://i.imgur.com/" + i + ".png");
+            image.setDeleteHash(username + "-" + i);
+            existing.add(image);
+        }
+        imageRepository.saveAll(existing);
+        entityManager.flush();
+        entityManager.clear();
+        return username;
+    }
+}
@@ -0,0 +1,66 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.config.ImgurClientConfig;
+import com.synchrony.userprofileintegration.service.ImgurService;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the pooled Imgur client keeps connections alive across calls, unlike a client that opens a new
+ * connection per call. The latency difference is measured by ImgurClientPoolingBenchmark under the jmh profile.
+ */
+class ImgurClientPoolingTest {
+
+    private static final int CALLS = 100;
+
+    private ImgurStub stub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = ImgurStub.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void pooledClient_ShouldReuseOneConnectionForSequentialCalls() throws IOException {
+        try (CloseableHttpClient pooled = HttpClients.custom()
+                .setConnectionManager(ImgurClientConfig.connectionManager(10, 10, Duration.ofSeconds(2), 8192))
+                .build();
+             CloseableHttpClient unpooled = HttpClients.custom()
+                     .setConnectionManager(ImgurClientConfig.connectionManager(10, 10, Duration.ofSeconds(2), 8192))
+                     .setConnectionReuseStrategy((request, response, context) -> false)
+                     .build()) {
+
+            deleteSequentially(imgurService(pooled));
+            assertEquals(1, stub.connections(), "sequential calls should share one kept-alive connection");
+
+            stub.resetConnections();
+            deleteSequentially(imgurService(unpooled));
+            assertEquals(CALLS, stub.connections());
+        }
+    }
+
+    private void deleteSequentially(ImgurService imgurService) {
+        for (int i = 0; i < CALLS; i++) {
+            assertTrue(imgurService.deleteImage("hash" + i));
+        }
+    }
+
+    private ImgurService imgurService(CloseableHttpClient httpClient) {
+        return stub.imgurService(ImgurClientConfig.restTemplate(
+                httpClient, Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(5)),
+                ImgurStub.passThroughGuard());
+    }
+}
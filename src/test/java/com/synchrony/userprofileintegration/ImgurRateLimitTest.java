@@ -0,0 +1,116 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.config.ImgurClientConfig;
+import com.synchrony.userprofileintegration.service.ImgurRateLimiter;
+import com.synchrony.userprofileintegration.service.ImgurService;
+import com.synchrony.userprofileintegration.service.RetryBudget;
+import com.synchrony.userprofileintegration.service.UpstreamGuard;
+import exception.ImgurRateLimitedException;
+import exception.ImgurUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImgurRateLimitTest {
+
+    private ImgurStub stub;
+    private ImgurRateLimiter rateLimiter;
+    private CloseableHttpClient httpClient;
+    private ImgurService imgurService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = ImgurStub.start();
+        // Two calls back to back, then one every ~0.5 s; uploads leave 5 credits and wait at most 100 ms
+        rateLimiter = new ImgurRateLimiter(2, 5, Duration.ofSeconds(10), Duration.ofMillis(100));
+        httpClient = ImgurClientConfig.httpClient(
+                ImgurClientConfig.connectionManager(10, 10, Duration.ofSeconds(2), 8192), rateLimiter, Duration.ofSeconds(30));
+        UpstreamGuard guard = new UpstreamGuard(CircuitBreaker.ofDefaults("imgur"), Bulkhead.ofDefaults("imgur"),
+                rateLimiter, new RetryBudget(0, 0), 1, Duration.ZERO, Duration.ZERO);
+        imgurService = stub.imgurService(ImgurClientConfig.restTemplate(httpClient,
+                Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(5)), guard);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        stub.close();
+    }
+
+    @Test
+    void uploads_ShouldBeShedBeforeTheQuotaRunsOutWhileDeletesWait() {
+        stub.rateLimit(12, Duration.ofSeconds(6));
+        assertTrue(Double.isNaN(rateLimiter.remainingCredits()));
+
+        // The first response reports 11 credits for the next ~6 s
+        assertTrue(imgurService.deleteImage("hash"));
+        assertEquals(11, rateLimiter.remainingCredits());
+
+        assertNotNull(imgurService.uploadImage(image()));
+        assertNotNull(imgurService.uploadImage(image()));
+        ImgurUnavailableException shed = assertThrows(ImgurUnavailableException.class,
+                () -> imgurService.uploadImage(image()));
+        assertInstanceOf(ImgurRateLimitedException.class, shed.getCause());
+
+        // A delete may wait for the next token, so it goes through
+        assertTrue(imgurService.deleteImage("hash"));
+        assertEquals(4, stub.requests(), "a shed call must not reach Imgur");
+        assertEquals(8, rateLimiter.remainingCredits());
+    }
+
+    @Test
+    void uploads_ShouldLeaveTheReservedCreditsToDeletes() {
+        stub.rateLimit(7, Duration.ofSeconds(6));
+
+        assertTrue(imgurService.deleteImage("hash"));
+        assertNotNull(imgurService.uploadImage(image()));
+
+        // 5 credits left, all of them reserved for deletes
+        assertThrows(ImgurUnavailableException.class, () -> imgurService.uploadImage(image()));
+        assertTrue(imgurService.deleteImage("hash"));
+        assertEquals(3, stub.requests());
+    }
+
+    @Test
+    void clientCredits_ShouldNotBeRestoredWhenTheUserCreditsReset() throws InterruptedException {
+        stub.rateLimit(100, Duration.ofSeconds(2));
+        stub.clientRateLimit(8);
+
+        // The first response reports 7 client credits for the rest of the day, two above the upload reserve
+        assertTrue(imgurService.deleteImage("hash"));
+        assertNotNull(imgurService.uploadImage(image()));
+        assertNotNull(imgurService.uploadImage(image()));
+        assertThrows(ImgurUnavailableException.class, () -> imgurService.uploadImage(image()));
+
+        // Once the user credits have reset, the spent client credits still hold uploads back
+        Thread.sleep(2500);
+        assertThrows(ImgurUnavailableException.class, () -> imgurService.uploadImage(image()));
+        assertEquals(3, stub.requests());
+        assertEquals(5, rateLimiter.remainingCredits());
+    }
+
+    @Test
+    void upstream429_ShouldBeReportedAsRateLimitedOnceNoRetryIsLeft() {
+        stub.failWith(429);
+
+        ImgurUnavailableException rejected = assertThrows(ImgurUnavailableException.class,
+                () -> imgurService.deleteImage("hash"));
+
+        ImgurRateLimitedException rateLimited = assertInstanceOf(ImgurRateLimitedException.class, rejected.getCause());
+        assertTrue(rateLimited.getRetryAfter().toSeconds() > 0);
+        assertEquals(1, stub.requests());
+    }
+
+    private static MockMultipartFile image() {
+        return new MockMultipartFile("file", "cat.png", "image/png", new byte[]{1, 2, 3});
+    }
+}
@@ -0,0 +1,107 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.config.ImgurClientConfig;
+import com.synchrony.userprofileintegration.service.ImgurRateLimiter;
+import com.synchrony.userprofileintegration.service.ImgurService;
+import com.synchrony.userprofileintegration.service.RetryBudget;
+import com.synchrony.userprofileintegration.service.UpstreamGuard;
+import exception.ImgurUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImgurResilienceTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofMillis(300);
+
+    private ImgurStub stub;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = ImgurStub.start();
+        httpClient = HttpClients.custom()
+                .setConnectionManager(ImgurClientConfig.connectionManager(10, 10, Duration.ofSeconds(2), 8192))
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        stub.close();
+    }
+
+    @Test
+    void circuitBreaker_ShouldOpenFailFastAndCloseAfterRecovery() throws InterruptedException {
+        UpstreamGuard guard = guard(1, new RetryBudget(0, 0));
+        ImgurService imgurService = imgurService(guard);
+
+        stub.failWith(500);
+        while (guard.getCircuitBreakerState() == CircuitBreaker.State.CLOSED) {
+            assertFalse(imgurService.deleteImage("hash"));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitBreakerState());
+
+        int requestsWhileOpen = stub.requests();
+        assertThrows(ImgurUnavailableException.class, () -> imgurService.deleteImage("hash"));
+        assertEquals(requestsWhileOpen, stub.requests(), "an open breaker must not reach the upstream");
+
+        stub.recover();
+        Thread.sleep(OPEN_DURATION.toMillis() + 50);
+        assertTrue(imgurService.deleteImage("hash"));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, guard.getCircuitBreakerState());
+        assertTrue(imgurService.deleteImage("hash"));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitBreakerState());
+    }
+
+    @Test
+    void retries_ShouldStopWhenBudgetIsSpent() {
+        ImgurService imgurService = imgurService(guard(3, new RetryBudget(0.5, 2)));
+        stub.failWith(503);
+
+        // Two saved retries: the first delete uses both, later deletes get a single attempt each
+        assertFalse(imgurService.deleteImage("hash"));
+        assertEquals(3, stub.requests());
+        assertFalse(imgurService.deleteImage("hash"));
+        assertEquals(4, stub.requests());
+    }
+
+    @Test
+    void uploads_ShouldNotBeRetriedAfterReachingTheUpstream() {
+        ImgurService imgurService = imgurService(guard(3, new RetryBudget(0.5, 2)));
+        stub.failWith(500);
+
+        assertNull(imgurService.uploadImage(new MockMultipartFile("file", "cat.png", "image/png", new byte[]{1, 2, 3})));
+        assertEquals(1, stub.requests());
+    }
+
+    private UpstreamGuard guard(int maxAttempts, RetryBudget retryBudget) {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("imgur", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(OPEN_DURATION)
+                .permittedNumberOfCallsInHalfOpenState(2)
+                .recordException(UpstreamGuard::isUpstreamFailure)
+                .build());
+        return new UpstreamGuard(circuitBreaker, Bulkhead.ofDefaults("imgur"), ImgurRateLimiter.unlimited(),
+                retryBudget, maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5));
+    }
+
+    private ImgurService imgurService(UpstreamGuard guard) {
+        return stub.imgurService(ImgurClientConfig.restTemplate(httpClient,
+                Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(5)), guard);
+    }
+}
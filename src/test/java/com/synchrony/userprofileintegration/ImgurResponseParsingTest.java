@@ -0,0 +1,45 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.dto.ImageResponseDTO;
+import com.synchrony.userprofileintegration.dto.ImgurApiResponseDTO;
+import com.synchrony.userprofileintegration.service.ImgurService;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImgurResponseParsingTest {
+
+    @Test
+    void parseResponse_ShouldBindLinkAndDeleteHashOfSuccessfulUpload() throws IOException {
+        ImgurApiResponseDTO response = parse("{\"data\":{\"id\":\"orunSTu\",\"tags\":[],\"width\":1,"
+                + "\"deletehash\":\"x70po4w7BVvSUzZ\",\"link\":\"https://i.imgur.com/orunSTu.gif\"},"
+                + "\"success\":true,\"status\":200}");
+
+        ImageResponseDTO image = ImgurService.toImageResponse(response);
+
+        assertEquals("https://i.imgur.com/orunSTu.gif", image.getLink());
+        assertEquals("x70po4w7BVvSUzZ", image.getDeleteHash());
+        assertNull(response.errorMessage());
+    }
+
+    @Test
+    void parseResponse_ShouldCarryUpstreamErrorDetails() throws IOException {
+        ImgurApiResponseDTO plain = parse("{\"data\":{\"error\":\"File is over the size limit\","
+                + "\"request\":\"/3/upload\",\"method\":\"POST\"},\"success\":false,\"status\":400}");
+        ImgurApiResponseDTO structured = parse("{\"data\":{\"error\":{\"code\":1003,"
+                + "\"message\":\"File type invalid (1)\",\"type\":\"ImgurException\"}},\"success\":false,\"status\":400}");
+
+        assertNull(ImgurService.toImageResponse(plain));
+        assertEquals(400, plain.status());
+        assertEquals("File is over the size limit", plain.errorMessage());
+        assertEquals("File type invalid (1)", structured.errorMessage());
+    }
+
+    private static ImgurApiResponseDTO parse(String json) throws IOException {
+        return ImgurService.parseResponse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,137 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.config.ImgurClientConfig;
+import com.synchrony.userprofileintegration.dto.ImageResponseDTO;
+import com.synchrony.userprofileintegration.service.ImgurService;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImgurServiceStreamingUploadTest {
+
+    private static final long FILE_SIZE = 256L * 1024 * 1024;
+
+    private ImgurStub stub;
+    private ImgurService imgurService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = ImgurStub.start();
+        RestTemplate restTemplate = ImgurClientConfig.restTemplate(
+                HttpClients.custom()
+                        .setConnectionManager(ImgurClientConfig.connectionManager(10, 10, Duration.ofSeconds(2), 8192))
+                        .build(),
+                Duration.ofSeconds(1), Duration.ofSeconds(60), Duration.ofSeconds(5));
+        imgurService = stub.imgurService(restTemplate, ImgurStub.passThroughGuard());
+        ReflectionTestUtils.setField(imgurService, "streamingUpload", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void uploadImage_ShouldStreamLargeFileWithBoundedAllocation() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        ImageResponseDTO response = imgurService.uploadImage(new SyntheticMultipartFile(FILE_SIZE));
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        assertNotNull(response);
+        assertEquals("hash1", response.getDeleteHash());
+        assertTrue(stub.uploadedBytes() >= FILE_SIZE, "stub should receive the whole file");
+        // The Base64 path would allocate well over 3x the file size on this thread
+        assertTrue(allocated < FILE_SIZE / 16, "upload allocated " + allocated + " bytes");
+    }
+
+    /**
+     * Multipart file that generates its content on the fly and refuses to be read into memory.
+     */
+    private static class SyntheticMultipartFile implements MultipartFile {
+
+        private final long size;
+
+        SyntheticMultipartFile(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "large.png";
+        }
+
+        @Override
+        public String getContentType() {
+            return "image/png";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public byte[] getBytes() {
+            throw new AssertionError("streaming upload must not buffer the whole file");
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new InputStream() {
+                private long remaining = size;
+
+                @Override
+                public int read() {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    remaining--;
+                    return (int) (remaining & 0xFF);
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    int count = (int) Math.min(length, remaining);
+                    for (int i = 0; i < count; i++) {
+                        buffer[offset + i] = (byte) (remaining - i);
+                    }
+                    remaining -= count;
+                    return count;
+                }
+            };
+        }
+
+        @Override
+        public void transferTo(File dest) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.synchrony.userprofileintegration;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.synchrony.userprofileintegration.service.ImgurRateLimiter;
+import com.synchrony.userprofileintegration.service.ImgurService;
+import com.synchrony.userprofileintegration.service.RetryBudget;
+import com.synchrony.userprofileintegration.service.UpstreamGuard;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Imgur upload and delete API, used by tests that must not reach the real service.
+ * Latency, a random error rate and Imgur's rate limit can be simulated for load tests.
+ */
+public class ImgurStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger uploads = new AtomicInteger();
+    private final AtomicLong uploadedBytes = new AtomicLong();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile int failureStatus;
+    private volatile Duration latency = Duration.ZERO;
+    private volatile double errorRate;
+    private volatile int rateLimit;
+    private volatile Duration rateLimitWindow = Duration.ofHours(1);
+    private final AtomicInteger rateLimitRemaining = new AtomicInteger();
+    private volatile Instant rateLimitReset = Instant.now();
+    private volatile int clientRateLimit;
+    private final AtomicInteger clientRateLimitRemaining = new AtomicInteger();
+
+    private ImgurStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/3/upload", tracked(this::handleUpload));
+        server.createContext("/3/image/", tracked(this::handleDelete));
+        server.setExecutor(executor);
+    }
+
+    public static ImgurStub start() throws IOException {
+        ImgurStub stub = new ImgurStub();
+        stub.server.start();
+        return stub;
+    }
+
+    public String uploadUrl() {
+        return baseUrl() + "/3/upload";
+    }
+
+    public String deleteUrl() {
+        return baseUrl() + "/3/image/";
+    }
+
+    /**
+     * Makes every following request fail with the given HTTP status until {@link #recover()} is called.
+     */
+    public void failWith(int status) {
+        failureStatus = status;
+    }
+
+    public void recover() {
+        failureStatus = 0;
+    }
+
+    /**
+     * Delays every response by the given time, as seen from the client.
+     */
+    public void latency(Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Fails the given fraction of requests, chosen at random, with an HTTP 500 status.
+     */
+    public void errorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Allows at most {@code limit} requests per window, reporting the remaining allowance in
+     * Imgur's X-RateLimit-User headers and answering HTTP 429 once it is used up. A limit of 0 disables it.
+     */
+    public synchronized void rateLimit(int limit, Duration window) {
+        rateLimit = limit;
+        rateLimitWindow = window;
+        rateLimitRemaining.set(limit);
+        rateLimitReset = Instant.now().plus(window);
+    }
+
+    /**
+     * Allows at most {@code limit} requests in total, like Imgur's daily client allowance, which the stub never
+     * resets. The remaining allowance is reported in the X-RateLimit-Client headers, which are only sent while a
+     * client limit is set. A limit of 0 disables it.
+     */
+    public synchronized void clientRateLimit(int limit) {
+        clientRateLimit = limit;
+        clientRateLimitRemaining.set(limit);
+    }
+
+    /**
+     * @return the number of upload and delete requests received, including failed ones.
+     */
+    public int requests() {
+        return requests.get();
+    }
+
+    /**
+     * Creates an ImgurService that talks to this stub through the given client.
+     */
+    public ImgurService imgurService(RestTemplate restTemplate, UpstreamGuard upstreamGuard) {
+        ImgurService imgurService = new ImgurService(restTemplate, upstreamGuard, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(imgurService, "clientId", "test-client");
+        ReflectionTestUtils.setField(imgurService, "IMGUR_UPLOAD_URL", uploadUrl());
+        ReflectionTestUtils.setField(imgurService, "IMGUR_DELETE_URL", deleteUrl());
+        return imgurService;
+    }
+
+    /**
+     * Guard that lets every call through once, for tests that are not about resilience.
+     */
+    public static UpstreamGuard passThroughGuard() {
+        return new UpstreamGuard(CircuitBreaker.ofDefaults("imgur"), Bulkhead.of("imgur",
+                BulkheadConfig.custom().maxConcurrentCalls(1000).build()),
+                ImgurRateLimiter.unlimited(), new RetryBudget(0, 0), 1, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * @return the most requests that were being handled at once since the last reset.
+     */
+    public int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public void resetMaxInFlight() {
+        maxInFlight.set(inFlight.get());
+    }
+
+    public int uploads() {
+        return uploads.get();
+    }
+
+    public long uploadedBytes() {
+        return uploadedBytes.get();
+    }
+
+    /**
+     * @return the number of distinct client connections seen since the last reset.
+     */
+    public int connections() {
+        return clientPorts.size();
+    }
+
+    public void resetConnections() {
+        clientPorts.clear();
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private HttpHandler tracked(HttpHandler handler) {
+        return exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                handler.handle(exchange);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        };
+    }
+
+    private void handleUpload(HttpExchange exchange) throws IOException {
+        if (accept(exchange)) {
+            return;
+        }
+        uploadedBytes.addAndGet(drain(exchange.getRequestBody()));
+        int id = uploads.incrementAndGet();
+        respond(exchange, "{\"data\":{\"id\":\"img" + id + "\",\"link\":\"https://i.imgur.com/img" + id
+                + ".png\",\"deletehash\":\"hash" + id + "\"},\"success\":true,\"status\":200}");
+    }
+
+    private void handleDelete(HttpExchange exchange) throws IOException {
+        if (accept(exchange)) {
+            return;
+        }
+        drain(exchange.getRequestBody());
+        respond(exchange, "{\"data\":true,\"success\":true,\"status\":200}");
+    }
+
+    /**
+     * Records the request and answers it with the scripted failure, if any.
+     *
+     * @return true if the request has already been answered.
+     */
+    private boolean accept(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        sleep(latency);
+        int status = failureStatus;
+        if (status == 0 && !consumeRateLimit(exchange)) {
+            status = 429;
+        }
+        if (status == 0 && errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            status = 500;
+        }
+        if (status == 0) {
+            return false;
+        }
+        drain(exchange.getRequestBody());
+        respond(exchange, status, "{\"data\":{\"error\":\"Scripted failure\"},\"success\":false,\"status\":" + status + "}");
+        return true;
+    }
+
+    /**
+     * Takes one request from the rate limit allowance and adds the rate limit headers.
+     *
+     * @return false if the allowance is used up.
+     */
+    private boolean consumeRateLimit(HttpExchange exchange) {
+        boolean allowed = true;
+        int limit = rateLimit;
+        if (limit != 0) {
+            synchronized (this) {
+                if (Instant.now().isAfter(rateLimitReset)) {
+                    rateLimitRemaining.set(limit);
+                    rateLimitReset = Instant.now().plus(rateLimitWindow);
+                }
+            }
+            int remaining = rateLimitRemaining.getAndUpdate(left -> Math.max(left - 1, 0));
+            exchange.getResponseHeaders().set("X-RateLimit-UserLimit", String.valueOf(limit));
+            exchange.getResponseHeaders().set("X-RateLimit-UserRemaining", String.valueOf(Math.max(remaining - 1, 0)));
+            exchange.getResponseHeaders().set("X-RateLimit-UserReset", String.valueOf(rateLimitReset.getEpochSecond()));
+            allowed = remaining > 0;
+        }
+        int clientLimit = clientRateLimit;
+        if (clientLimit != 0) {
+            int remaining = clientRateLimitRemaining.getAndUpdate(left -> Math.max(left - 1, 0));
+            exchange.getResponseHeaders().set("X-RateLimit-ClientLimit", String.valueOf(clientLimit));
+            exchange.getResponseHeaders().set("X-RateLimit-ClientRemaining", String.valueOf(Math.max(remaining - 1, 0)));
+            allowed &= remaining > 0;
+        }
+        if (allowed) {
+            return true;
+        }
+        long retryAfter = Math.max(Duration.between(Instant.now(), rateLimitReset).toSeconds(), 1);
+        exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfter));
+        return false;
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long drain(InputStream body) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        respond(exchange, 200, json);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,313 @@
+package com.synchrony.userprofileintegration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open-model load driver for the running application. Scenarios are started at a fixed target rate,
+ * independently of how fast earlier ones complete, and every call is timed per endpoint.
+ * Each scenario is one step of a user's session: register and log in, view a profile, upload an image
+ * or delete one uploaded earlier.
+ */
+public class LoadDriver {
+
+    private static final Duration[] BUCKETS = {
+            Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1),
+            Duration.ofMillis(2500), Duration.ofSeconds(5)};
+
+    private final String baseUrl;
+    private final int ratePerSecond;
+    private final Duration duration;
+    private final int maxInFlight;
+    private final int imageBytes;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, Timer> timers = new LinkedHashMap<>();
+    private final Map<String, Counter> errors = new LinkedHashMap<>();
+    private final List<Session> sessions = new CopyOnWriteArrayList<>();
+    private final Queue<UploadedImage> uploadedImages = new ConcurrentLinkedQueue<>();
+    private final AtomicLong droppedArrivals = new AtomicLong();
+
+    /**
+     * @param baseUrl the root URL of the application, such as http://localhost:8080.
+     * @param ratePerSecond the number of scenarios started per second.
+     * @param duration how long to keep starting scenarios.
+     * @param maxInFlight the most scenarios running at once; arrivals beyond it are dropped and counted.
+     * @param imageBytes the size of each uploaded image.
+     */
+    public LoadDriver(String baseUrl, int ratePerSecond, Duration duration, int maxInFlight, int imageBytes) {
+        this.baseUrl = baseUrl;
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+        this.imageBytes = imageBytes;
+        resetMeters();
+    }
+
+    /**
+     * Registers the initial users, then runs the scenario mix for the configured duration.
+     *
+     * @param initialUsers the number of users to register before the timed run.
+     * @return the per-endpoint results of the timed run.
+     */
+    public Report run(int initialUsers) throws InterruptedException {
+        for (int i = 0; i < initialUsers; i++) {
+            registerAndLogin();
+        }
+        // The initial users are setup, not part of the measured run
+        resetMeters();
+
+        ExecutorService workers = Executors.newCachedThreadPool();
+        ScheduledExecutorService arrivals = Executors.newSingleThreadScheduledExecutor();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        arrivals.scheduleAtFixedRate(() -> {
+            if (!inFlight.tryAcquire()) {
+                droppedArrivals.incrementAndGet();
+                return;
+            }
+            try {
+                workers.execute(() -> {
+                    try {
+                        runScenario();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+            }
+        }, 0, intervalNanos, TimeUnit.NANOSECONDS);
+
+        arrivals.awaitTermination(duration.toMillis(), TimeUnit.MILLISECONDS);
+        arrivals.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return report(elapsed);
+    }
+
+    private void resetMeters() {
+        registry.clear();
+        for (String endpoint : List.of("register", "login", "getProfile", "upload", "delete")) {
+            timers.put(endpoint, Timer.builder("load.requests")
+                    .tag("endpoint", endpoint)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .serviceLevelObjectives(BUCKETS)
+                    .register(registry));
+            errors.put(endpoint, registry.counter("load.errors", "endpoint", endpoint));
+        }
+    }
+
+    private void runScenario() {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        try {
+            if (roll < 10 || sessions.isEmpty()) {
+                registerAndLogin();
+            } else if (roll < 60) {
+                getProfile(randomSession());
+            } else if (roll < 85) {
+                upload(randomSession());
+            } else {
+                UploadedImage image = uploadedImages.poll();
+                if (image != null) {
+                    delete(image);
+                } else {
+                    upload(randomSession());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void registerAndLogin() throws InterruptedException {
+        String username = "load-" + UUID.randomUUID();
+        String credentials = "{\"username\":\"" + username + "\",\"password\":\"load-test-password\"}";
+        HttpResponse<String> registered = send("register", HttpRequest.newBuilder(uri("/api/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials)));
+        if (registered == null || registered.statusCode() != 200) {
+            return;
+        }
+        HttpResponse<String> login = send("login", HttpRequest.newBuilder(uri("/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials)));
+        if (login != null && login.statusCode() == 200) {
+            sessions.add(new Session(username, json(login).path("accessToken").asText()));
+        }
+    }
+
+    private void getProfile(Session session) throws InterruptedException {
+        send("getProfile", authorized(session, "/api/users/" + session.username()).GET());
+    }
+
+    private void upload(Session session) throws InterruptedException {
+        String boundary = UUID.randomUUID().toString();
+        HttpResponse<String> response = send("upload", authorized(session, "/api/users/" + session.username() + "/images")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipartImage(boundary))));
+        if (response != null && response.statusCode() == 200) {
+            uploadedImages.add(new UploadedImage(session, json(response).path("id").asLong()));
+        }
+    }
+
+    private void delete(UploadedImage image) throws InterruptedException {
+        Session session = image.session();
+        send("delete", authorized(session, "/api/users/" + session.username() + "/images/" + image.id()).DELETE());
+    }
+
+    /**
+     * Sends a request, timing it under the endpoint and counting failed and erroneous responses.
+     *
+     * @return the response, or null if the request failed.
+     */
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                errors.get(endpoint).increment();
+            }
+            return response;
+        } catch (IOException e) {
+            errors.get(endpoint).increment();
+            return null;
+        } finally {
+            timers.get(endpoint).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private HttpRequest.Builder authorized(Session session, String path) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + session.token());
+    }
+
+    private byte[] multipartImage(String boundary) {
+        // Random content, so deduplication does not turn uploads into reference count updates
+        byte[] image = new byte[imageBytes];
+        ThreadLocalRandom.current().nextBytes(image);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(imageBytes + 256);
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"load.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(image);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    private JsonNode json(HttpResponse<String> response) {
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            return objectMapper.missingNode();
+        }
+    }
+
+    private Session randomSession() {
+        return sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private Report report(Duration elapsed) {
+        List<EndpointResult> results = new ArrayList<>();
+        timers.forEach((endpoint, timer) -> {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<Double, Duration> percentiles = new LinkedHashMap<>();
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                percentiles.put(percentile.percentile(), Duration.ofNanos((long) percentile.value(TimeUnit.NANOSECONDS)));
+            }
+            Map<Duration, Long> histogram = new LinkedHashMap<>();
+            for (CountAtBucket bucket : snapshot.histogramCounts()) {
+                histogram.put(Duration.ofNanos((long) bucket.bucket(TimeUnit.NANOSECONDS)), (long) bucket.count());
+            }
+            results.add(new EndpointResult(endpoint, snapshot.count(), (long) errors.get(endpoint).count(),
+                    snapshot.count() / (elapsed.toMillis() / 1000.0), percentiles,
+                    Duration.ofNanos((long) snapshot.max(TimeUnit.NANOSECONDS)), histogram));
+        });
+        return new Report(elapsed, droppedArrivals.get(), results);
+    }
+
+    private record Session(String username, String token) {
+    }
+
+    private record UploadedImage(Session session, long id) {
+    }
+
+    /**
+     * Results for one endpoint. The histogram maps each bucket's upper bound to the cumulative number of calls.
+     */
+    public record EndpointResult(String endpoint, long count, long errors, double throughput,
+                                 Map<Double, Duration> percentiles, Duration max, Map<Duration, Long> histogram) {
+
+        public double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    public record Report(Duration elapsed, long droppedArrivals, List<EndpointResult> endpoints) {
+
+        /**
+         * @return a plain text table of throughput, errors and latency per endpoint, followed by the histograms.
+         */
+        public String format() {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("Load run of %d s, %d arrivals dropped%n", elapsed.toSeconds(), droppedArrivals));
+            out.append(String.format("%-12s %8s %8s %10s %10s %10s %10s %10s%n",
+                    "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+            for (EndpointResult result : endpoints) {
+                out.append(String.format("%-12s %8d %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                        result.endpoint(), result.count(), result.errors(), result.throughput(),
+                        millis(result.percentiles().get(0.5)), millis(result.percentiles().get(0.95)),
+                        millis(result.percentiles().get(0.99)), millis(result.max())));
+            }
+            for (EndpointResult result : endpoints) {
+                out.append(String.format("%nLatency histogram for %s (cumulative)%n", result.endpoint()));
+                result.histogram().forEach((bound, count) ->
+                        out.append(String.format("  <= %6d ms %8d%n", bound.toMillis(), count)));
+            }
+            return out.toString();
+        }
+
+        private static double millis(Duration duration) {
+            return duration == null ? 0 : duration.toNanos() / 1_000_000.0;
+        }
+    }
+}
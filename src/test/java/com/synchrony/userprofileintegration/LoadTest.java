@@ -0,0 +1,79 @@
+package com.synchrony.userprofileintegration;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the mixed scenario load against the application, with Imgur replaced by a local stub.
+ * Only runs under the load profile: mvn -P load test. The rate, duration and thresholds can be
+ * overridden with system properties, e.g. -Dload.rate=100 -Dload.duration=PT5M.
+ * The report is logged and written to target/load-report.txt.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "imgur.client-id=load-test",
+        "imgur.client-secret=load-test"
+})
+class LoadTest {
+
+    private static final Logger logger = LogManager.getLogger(LoadTest.class);
+
+    private static ImgurStub imgur;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void imgurStub(DynamicPropertyRegistry registry) throws IOException {
+        imgur = ImgurStub.start();
+        imgur.latency(Duration.parse(System.getProperty("load.imgur.latency", "PT0.2S")));
+        imgur.errorRate(Double.parseDouble(System.getProperty("load.imgur.error-rate", "0.01")));
+        imgur.rateLimit(Integer.getInteger("load.imgur.rate-limit", 0), Duration.ofMinutes(1));
+        registry.add("imgur.upload-url", imgur::uploadUrl);
+        registry.add("imgur.delete-url", imgur::deleteUrl);
+    }
+
+    @AfterAll
+    static void stopImgurStub() {
+        imgur.close();
+    }
+
+    @Test
+    void mixedScenarios_ShouldStayWithinErrorAndLatencyBudgets() throws Exception {
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.05"));
+        Duration maxP99 = Duration.parse(System.getProperty("load.max-p99", "PT2S"));
+        LoadDriver driver = new LoadDriver("http://localhost:" + port,
+                Integer.getInteger("load.rate", 50),
+                Duration.parse(System.getProperty("load.duration", "PT60S")),
+                Integer.getInteger("load.max-in-flight", 200),
+                Integer.getInteger("load.image-bytes", 64 * 1024));
+
+        LoadDriver.Report report = driver.run(Integer.getInteger("load.users", 20));
+
+        String formatted = report.format();
+        logger.info("Load test results:\n{}", formatted);
+        Files.writeString(Path.of("target", "load-report.txt"), formatted);
+        assertEquals(0, report.droppedArrivals(), "the application fell behind the target rate");
+        for (LoadDriver.EndpointResult result : report.endpoints()) {
+            assertTrue(result.errorRate() <= maxErrorRate,
+                    result.endpoint() + " error rate " + result.errorRate() + " is over " + maxErrorRate);
+            Duration p99 = result.percentiles().get(0.99);
+            assertTrue(p99 == null || p99.compareTo(maxP99) <= 0,
+                    result.endpoint() + " p99 " + p99 + " is over " + maxP99);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.synchrony.userprofileintegration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "imgur.client-id=test-client",
+        "imgur.client-secret=test-secret",
+        "imgur.upload-url=http://localhost:1/upload",
+        "imgur.delete-url=http://localhost:1/delete/",
+        "password.hashing.bcrypt-cost=4"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsRegistrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpoint_ShouldExposeHotPathMetrics() throws Exception {
+        mockMvc.perform(post("/api/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"metrics-user\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk());
+        String credentials = Base64.getEncoder().encodeToString("metrics-user:secret".getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(get("/api/users/nobody").header(HttpHeaders.AUTHORIZATION, "Basic " + credentials))
+                .andExpect(status().isNotFound());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("imgur_requests_seconds_count{operation=\"upload\",outcome=\"success\"")
+                .contains("imgur_requests_seconds_count{operation=\"delete\",outcome=\"rejected\"")
+                .contains("password_hashing_seconds_count{operation=\"matches\"")
+                .contains("password_hashing_rejected_total")
+                .contains("image_upload_size_bytes_bucket")
+                .contains("spring_data_repository_invocations_seconds")
+                .containsPattern("users_not_found_total(\\{[^}]*})? 1\\.0")
+                .contains("users_filter_rejected_total");
+    }
+}
@@ -0,0 +1,98 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.model.Image;
+import com.synchrony.userprofileintegration.model.User;
+import com.synchrony.userprofileintegration.repository.ImageRepository;
+import com.synchrony.userprofileintegration.repository.UserRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application under the prod profile against a database file in a temp directory,
+ * and checks that data written before a restart is still there after it. Startup times of the
+ * default in-memory mode and the prod mode are logged side by side.
+ */
+class PersistentDatabaseTest {
+
+    private static final Logger logger = LogManager.getLogger(PersistentDatabaseTest.class);
+
+    @TempDir
+    Path dataDirectory;
+
+    @Test
+    void prodProfile_ShouldKeepDataAcrossRestarts() {
+        String databasePath = dataDirectory.resolve("userdb").toString();
+        String username = "persistent-" + UUID.randomUUID();
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = start("--spring.datasource.url=jdbc:h2:mem:startup-default")) {
+            logger.info("Default profile (in-memory, ddl-auto) started in {} ms", elapsedMillis(start));
+        }
+
+        start = System.nanoTime();
+        try (ConfigurableApplicationContext context = start("--spring.profiles.active=prod",
+                "--database.path=" + databasePath)) {
+            logger.info("Prod profile (file database, migrating an empty schema) started in {} ms", elapsedMillis(start));
+            Configuration logging = ((LoggerContext) LogManager.getContext(false)).getConfiguration();
+            assertTrue(logging.getName().contains("log4j2-async.xml"), "prod logs with " + logging.getName());
+            Appender file = logging.getAppender("File");
+            assertTrue(file != null && file.isStarted(), "the prod log file appender did not start");
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword("hash");
+            Long userId = context.getBean(UserRepository.class).save(user).getId();
+            Image image = new Image();
+            image.setUserId(userId);
+            image.setLink("https://i.imgur.com/persistent.png");
+            image.setDeleteHash("persistent");
+            context.getBean(ImageRepository.class).save(image);
+        }
+
+        start = System.nanoTime();
+        try (ConfigurableApplicationContext context = start("--spring.profiles.active=prod",
+                "--database.path=" + databasePath)) {
+            logger.info("Prod profile (file database, schema up to date) restarted in {} ms", elapsedMillis(start));
+
+            assertTrue(context.getBean(UserRepository.class).findByUsername(username).isPresent());
+            assertEquals(1, context.getBean(ImageRepository.class).findAllByOwner(username).size());
+            List<String> indexes = context.getBean(JdbcTemplate.class).queryForList(
+                    "SELECT index_name FROM information_schema.indexes WHERE table_name = 'images'", String.class);
+            assertTrue(indexes.containsAll(List.of("idx_images_user_id_id", "idx_images_content_hash")),
+                    "missing indexes, found " + indexes);
+        }
+    }
+
+    /**
+     * Settings are passed as command line arguments so they take precedence over application.properties.
+     */
+    private static ConfigurableApplicationContext start(String... settings) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--imgur.client-id=test-client",
+                "--imgur.client-secret=test-secret",
+                "--imgur.upload-url=http://localhost:1/upload",
+                "--imgur.delete-url=http://localhost:1/delete/"));
+        args.addAll(List.of(settings));
+        return new SpringApplicationBuilder(UserProfileIntegrationApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static long elapsedMillis(long start) {
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+}
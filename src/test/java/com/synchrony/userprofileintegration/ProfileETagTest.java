@@ -0,0 +1,147 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.model.Image;
+import com.synchrony.userprofileintegration.model.User;
+import com.synchrony.userprofileintegration.repository.ImageRepository;
+import com.synchrony.userprofileintegration.repository.UserRepository;
+import com.synchrony.userprofileintegration.service.ProfileService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "imgur.client-id=test-client",
+        "imgur.client-secret=test-secret",
+        "imgur.upload-url=http://localhost:1/upload",
+        "imgur.delete-url=http://localhost:1/delete/",
+        "password.hashing.bcrypt-cost=4",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class ProfileETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void matchingIfNoneMatch_ShouldGet304WithoutQueryingImages() throws Exception {
+        String username = "etag-" + UUID.randomUUID();
+        Long userId = user(username);
+        addImage(userId);
+        addImage(userId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        String eTag = mockMvc.perform(profilePage(username))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.images.length()").value(2))
+                .andExpect(jsonPath("$.truncated").value(false))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        assertEquals(1, profilePageQueries(statistics));
+
+        statistics.clear();
+        mockMvc.perform(profilePage(username).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        assertEquals(0, profilePageQueries(statistics), "a 304 must not load the profile");
+
+        // A new image changes the version, so the old ETag no longer matches
+        addImage(userId);
+        profileService.imagesChanged(username);
+        String newETag = mockMvc.perform(profilePage(username).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.images.length()").value(3))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+    }
+
+    @Test
+    void staleCachedProfile_ShouldBeReloadedAndServedWithItsOwnETag() throws Exception {
+        String username = "etag-" + UUID.randomUUID();
+        Long userId = user(username);
+        addImage(userId);
+        String eTag = mockMvc.perform(defaultProfile(username))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.images.length()").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // As if a load started before the change had stored its result after the eviction
+        addImage(userId);
+        userRepository.incrementImagesVersion(username);
+
+        mockMvc.perform(defaultProfile(username).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.images.length()").value(2))
+                .andExpect(header().string(HttpHeaders.ETAG,
+                        ProfileService.eTag(userRepository.findImagesVersion(username).orElseThrow())));
+        assertEquals(2, profileService.getProfile(username).getImages().size(), "the cache must hold the reloaded profile");
+    }
+
+    private MockHttpServletRequestBuilder profilePage(String username) {
+        return defaultProfile(username).param("limit", "10");
+    }
+
+    private MockHttpServletRequestBuilder defaultProfile(String username) {
+        String credentials = Base64.getEncoder().encodeToString((username + ":secret").getBytes(StandardCharsets.UTF_8));
+        return get("/api/users/{username}", username)
+                .header(HttpHeaders.AUTHORIZATION, "Basic " + credentials);
+    }
+
+    // Executions of UserRepository.findProfilePage, the only query that selects into ProfileRowDTO
+    private static long profilePageQueries(Statistics statistics) {
+        return Arrays.stream(statistics.getQueries())
+                .filter(query -> query.contains("ProfileRowDTO"))
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionCount())
+                .sum();
+    }
+
+    private Long user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(passwordEncoder.encode("secret"));
+        return userRepository.save(user).getId();
+    }
+
+    private void addImage(Long userId) {
+        Image image = new Image();
+        image.setUserId(userId);
+        image.setLink("https://i.imgur.com/" + UUID.randomUUID() + ".png");
+        image.setDeleteHash(UUID.randomUUID().toString());
+        imageRepository.save(image);
+    }
+}
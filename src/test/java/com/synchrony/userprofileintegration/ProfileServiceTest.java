@@ -0,0 +1,148 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.config.CacheConfig;
+import com.synchrony.userprofileintegration.dto.CacheStatsDTO;
+import com.synchrony.userprofileintegration.dto.ProfileRowDTO;
+import com.synchrony.userprofileintegration.dto.UserProfileDTO;
+import com.synchrony.userprofileintegration.repository.UserRepository;
+import com.synchrony.userprofileintegration.service.ProfileService;
+import com.synchrony.userprofileintegration.service.UsernameFilter;
+import exception.UserNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@SpringJUnitConfig(ProfileServiceTest.Config.class)
+class ProfileServiceTest {
+
+    @Configuration
+    @EnableCaching
+    @Import({CacheConfig.class, ProfileService.class})
+    static class Config {
+        @Bean
+        static ConversionService conversionService() {
+            return new ApplicationConversionService();
+        }
+    }
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private UsernameFilter usernameFilter;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @BeforeEach
+    void setUp() {
+        given(usernameFilter.mightExist(anyString())).willReturn(true);
+    }
+
+    @Test
+    void getProfile_ShouldCollapseConcurrentMissesIntoOneLoad() throws Exception {
+        given(userRepository.findProfilePage(eq("alice"), anyLong(), any())).willAnswer(invocation -> {
+            Thread.sleep(200);
+            return rows("alice", 0);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    awaitQuietly(start);
+                    return profileService.getProfile("alice").getUsername();
+                }, executor));
+            }
+            start.countDown();
+            for (CompletableFuture<String> result : results) {
+                assertEquals("alice", result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(userRepository, times(1)).findProfilePage(eq("alice"), anyLong(), any());
+    }
+
+    @Test
+    void imagesChanged_ShouldBumpVersionForceReloadAndBeCountedInStats() {
+        given(userRepository.findProfilePage(eq("bob"), anyLong(), any())).willReturn(rows("bob", 0));
+        CacheStatsDTO before = profileService.getCacheStats();
+
+        profileService.getProfile("bob");
+        profileService.getProfile("bob");
+        profileService.imagesChanged("bob");
+        profileService.getProfile("bob");
+
+        verify(userRepository).incrementImagesVersion("bob");
+        verify(userRepository, times(2)).findProfilePage(eq("bob"), anyLong(), any());
+        CacheStatsDTO after = profileService.getCacheStats();
+        assertEquals(1, after.getHitCount() - before.getHitCount());
+        assertEquals(2, after.getMissCount() - before.getMissCount());
+    }
+
+    @Test
+    void getProfilePage_ShouldReturnCursorOnlyWhenMoreImagesFollow() {
+        given(userRepository.findProfilePage("carol", 10L, PageRequest.of(0, 3))).willReturn(rows("carol", 3));
+        given(userRepository.findProfilePage("carol", 12L, PageRequest.of(0, 3))).willReturn(rows("carol", 1));
+
+        UserProfileDTO first = profileService.getProfilePage("carol", 10L, 2);
+        assertEquals(List.of(1L, 2L), first.getImages().stream().map(image -> image.getId()).toList());
+        assertEquals(2L, first.getNextCursor());
+        assertTrue(first.isTruncated());
+        assertEquals("</api/users/carol?after=2&limit=2>; rel=\"next\"", ProfileService.nextPageLink(first, 2));
+
+        UserProfileDTO last = profileService.getProfilePage("carol", 12L, 2);
+        assertEquals(1, last.getImages().size());
+        assertNull(last.getNextCursor());
+        assertFalse(last.isTruncated());
+    }
+
+    @Test
+    void getProfilePage_ShouldThrowWhenUserDoesNotExist() {
+        given(userRepository.findProfilePage(eq("nobody"), anyLong(), any())).willReturn(List.of());
+
+        assertThrows(UserNotFoundException.class, () -> profileService.getProfilePage("nobody", null, null));
+    }
+
+    private static List<ProfileRowDTO> rows(String username, int images) {
+        if (images == 0) {
+            return List.of(new ProfileRowDTO(1L, username, 0L, null, null, null));
+        }
+        List<ProfileRowDTO> rows = new ArrayList<>();
+        for (long id = 1; id <= images; id++) {
+            rows.add(new ProfileRowDTO(1L, username, 0L, id, "hash" + id, "https://i.imgur.com/" + id + ".png"));
+        }
+        return rows;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.synchrony.userprofileintegration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.synchrony.userprofileintegration.dto.UserRequestDTO;
+import com.synchrony.userprofileintegration.model.User;
+import com.synchrony.userprofileintegration.repository.UserRepository;
+import com.synchrony.userprofileintegration.service.TokenService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "imgur.client-id=test-client",
+        "imgur.client-secret=test-secret",
+        "password.hashing.bcrypt-cost=4"
+})
+@ActiveProfiles("reactive")
+class ReactiveImageApiTest {
+
+    private static ImgurStub imgur;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void imgurStub(DynamicPropertyRegistry registry) throws IOException {
+        imgur = ImgurStub.start();
+        registry.add("imgur.upload-url", imgur::uploadUrl);
+        registry.add("imgur.delete-url", imgur::deleteUrl);
+    }
+
+    @AfterAll
+    static void stopImgurStub() {
+        imgur.close();
+    }
+
+    @Test
+    void uploadsAndProfile_ShouldBeServedByTheReactiveStack() {
+        String username = user();
+        int uploadsBefore = imgur.uploads();
+
+        byte[] image = randomImage();
+        webTestClient.post().uri("/api/users/{username}/images", username)
+                .headers(headers -> headers.setBasicAuth(username, "secret"))
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(multipart(image)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.link").isNotEmpty();
+        webTestClient.post().uri("/api/users/{username}/images", username)
+                .headers(headers -> headers.setBasicAuth(username, "secret"))
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(multipart(image)))
+                .exchange()
+                .expectStatus().isOk();
+
+        // The identical second upload reuses the hosted copy
+        assertEquals(uploadsBefore + 1, imgur.uploads());
+        webTestClient.get().uri("/api/users/{username}", username)
+                .headers(headers -> headers.setBasicAuth(username, "secret"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.username").isEqualTo(username)
+                .jsonPath("$.images.length()").isEqualTo(2);
+        webTestClient.get().uri("/api/users/nobody")
+                .headers(headers -> headers.setBasicAuth(username, "secret"))
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.get().uri("/api/users/{username}", username)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void registerAndLogin_ShouldIssueTokensThatAuthenticateReactiveRequests() {
+        String username = "reactive-" + UUID.randomUUID();
+        webTestClient.post().uri("/api/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserRequestDTO(username, "secret"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.username").isEqualTo(username);
+        webTestClient.post().uri("/api/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserRequestDTO(username, "other"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+        webTestClient.post().uri("/api/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserRequestDTO(username, "wrong"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        String token = webTestClient.post().uri("/api/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserRequestDTO(username, "secret"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .returnResult().getResponseBody().get("accessToken").asText();
+
+        webTestClient.get().uri("/api/users/{username}", username)
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.username").isEqualTo(username);
+        webTestClient.post().uri("/api/logout")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri("/api/users/{username}", username)
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @Tag("load")
+    void slowUploads_ShouldAllBeInFlightAtOnce() {
+        String username = user();
+        String token = tokenService.issue(username).token();
+        int concurrentUploads = 1000;
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(
+                        ConnectionProvider.create("uploads", concurrentUploads))))
+                .build();
+        imgur.latency(Duration.ofSeconds(2));
+        imgur.resetMaxInFlight();
+        try {
+            long succeeded = Flux.range(0, concurrentUploads)
+                    .flatMap(i -> client.post().uri("/api/users/{username}/images", username)
+                            .headers(headers -> headers.setBearerAuth(token))
+                            .contentType(MediaType.MULTIPART_FORM_DATA)
+                            .body(BodyInserters.fromMultipartData(multipart(randomImage())))
+                            .retrieve()
+                            .toBodilessEntity(), concurrentUploads)
+                    .filter(response -> response.getStatusCode().is2xxSuccessful())
+                    .count()
+                    .block(Duration.ofMinutes(2));
+
+            assertEquals(concurrentUploads, succeeded);
+            assertTrue(imgur.maxInFlight() > concurrentUploads / 2,
+                    "only " + imgur.maxInFlight() + " uploads were waiting on Imgur at once");
+        } finally {
+            imgur.latency(Duration.ZERO);
+        }
+    }
+
+    private String user() {
+        User user = new User();
+        user.setUsername("reactive-" + UUID.randomUUID());
+        user.setPassword(passwordEncoder.encode("secret"));
+        return userRepository.save(user).getUsername();
+    }
+
+    private static byte[] randomImage() {
+        byte[] image = new byte[1024];
+        ThreadLocalRandom.current().nextBytes(image);
+        return image;
+    }
+
+    private static MultiValueMap<String, HttpEntity<?>> multipart(byte[] image) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", new ByteArrayResource(image) {
+            @Override
+            public String getFilename() {
+                return "cat.png";
+            }
+        }).contentType(MediaType.IMAGE_PNG);
+        return body.build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.model.User;
+import com.synchrony.userprofileintegration.repository.ReactiveUserRepository;
+import com.synchrony.userprofileintegration.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the reactive stack on the production database settings, so the R2DBC URL of the prod profile is parsed
+ * and has to open the same database file that Flyway migrated through JDBC.
+ */
+@SpringBootTest(properties = {
+        "spring.main.web-application-type=reactive",
+        "imgur.client-id=test-client",
+        "imgur.client-secret=test-secret",
+        "imgur.upload-url=http://localhost:1/upload",
+        "imgur.delete-url=http://localhost:1/delete/",
+        "password.hashing.bcrypt-cost=4"
+})
+@ActiveProfiles({"reactive", "prod"})
+class ReactiveProdProfileTest {
+
+    @TempDir
+    static Path databaseDirectory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReactiveUserRepository reactiveUserRepository;
+
+    @DynamicPropertySource
+    static void databasePath(DynamicPropertyRegistry registry) {
+        registry.add("database.path", () -> databaseDirectory.resolve("userdb").toAbsolutePath().toString());
+    }
+
+    @Test
+    void reactiveRepository_ShouldReadTheDatabaseFileWrittenThroughJpa() {
+        User user = new User();
+        user.setUsername("reactive-prod");
+        user.setPassword("encoded");
+        userRepository.save(user);
+
+        assertEquals(0L, reactiveUserRepository.findImagesVersion("reactive-prod").block());
+        assertTrue(Files.exists(databaseDirectory.resolve("userdb.mv.db")));
+    }
+}
@@ -0,0 +1,132 @@
+package com.synchrony.userprofileintegration;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Launches the packaged application in each startup mode and measures the time from starting the JVM to the
+ * first answered request. A training run first records the AppCDS archive used by the last mode.
+ * Only runs after packaging under the faststart profile: mvn -P faststart verify. The number of launches per mode
+ * can be set with -Dstartup.runs.
+ * The report is logged and written to target/startup-report.txt; each launch's output goes to target/startup-logs.
+ */
+@Tag("startup")
+class StartupTimeTest {
+
+    private static final Logger logger = LogManager.getLogger(StartupTimeTest.class);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+    private static final Path LOG_DIRECTORY = Path.of("target", "startup-logs");
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @Test
+    void reportTimeToFirstRequest() throws Exception {
+        String fatJar = System.getProperty("startup.fat-jar");
+        String fastStartJar = System.getProperty("startup.faststart-jar");
+        Path archive = Path.of(System.getProperty("startup.archive"));
+        int runs = Integer.getInteger("startup.runs", 5);
+        Files.createDirectories(LOG_DIRECTORY);
+
+        List<String> fastStart = List.of("-Dspring.aot.enabled=true", "-jar", fastStartJar,
+                "--spring.profiles.active=faststart");
+        Files.deleteIfExists(archive);
+        List<String> training = new ArrayList<>(List.of("-XX:ArchiveClassesAtExit=" + archive));
+        training.addAll(fastStart);
+        launch("training", training);
+        assertTrue(Files.exists(archive), "the training run did not write " + archive);
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("standard", List.of("-jar", fatJar));
+        modes.put("aot", fastStart);
+        List<String> withArchive = new ArrayList<>(List.of("-XX:SharedArchiveFile=" + archive));
+        withArchive.addAll(fastStart);
+        modes.put("aot+cds", withArchive);
+
+        StringBuilder report = new StringBuilder(String.format("%-10s %8s %8s %8s%n", "mode", "min", "median", "max"));
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            List<Long> millis = new ArrayList<>();
+            for (int run = 0; run < runs; run++) {
+                millis.add(launch(mode.getKey() + "-" + run, mode.getValue()).toMillis());
+            }
+            millis.sort(null);
+            report.append(String.format("%-10s %6d ms %6d ms %6d ms%n", mode.getKey(),
+                    millis.get(0), millis.get(millis.size() / 2), millis.get(millis.size() - 1)));
+        }
+
+        String formatted = report.toString();
+        logger.info("Time to first request over {} launches per mode:\n{}", runs, formatted);
+        Files.writeString(Path.of("target", "startup-report.txt"), formatted);
+    }
+
+    /**
+     * Starts the application with the given JVM options and jar, waits for its first answer and stops it.
+     * Stopping it with SIGTERM lets the JVM exit normally, which is when a training run writes its archive.
+     *
+     * @return the time from starting the process to the first HTTP response.
+     */
+    private Duration launch(String name, List<String> launchArguments) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-Dlog.dir=" + LOG_DIRECTORY);
+        command.addAll(launchArguments);
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--imgur.client-id=test-client",
+                "--imgur.client-secret=test-secret",
+                "--imgur.upload-url=http://localhost:1/upload",
+                "--imgur.delete-url=http://localhost:1/delete/"));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(LOG_DIRECTORY.resolve(name + ".log").toFile())
+                .start();
+        try {
+            HttpRequest firstRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                    .timeout(Duration.ofSeconds(5))
+                    .build();
+            while (true) {
+                assertTrue(process.isAlive(), name + " exited during startup, see " + LOG_DIRECTORY);
+                assertTrue(System.nanoTime() - start < STARTUP_TIMEOUT.toNanos(), name + " did not start in time");
+                try {
+                    // Any answer counts, the probe only waits for the application to serve requests
+                    httpClient.send(firstRequest, HttpResponse.BodyHandlers.discarding());
+                    return Duration.ofNanos(System.nanoTime() - start);
+                } catch (IOException notListeningYet) {
+                    TimeUnit.MILLISECONDS.sleep(10);
+                }
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.service.TokenService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final TokenService tokenService =
+            new TokenService("test-secret", Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void verify_ShouldReturnUsernameForIssuedToken() {
+        String token = tokenService.issue("alice").token();
+
+        assertEquals(Optional.of("alice"), tokenService.verify(token));
+    }
+
+    @Test
+    void verify_ShouldRejectTamperedToken() {
+        String token = tokenService.issue("alice").token();
+        String forged = new TokenService("other-secret", Duration.ofMinutes(15), Clock.systemUTC()).issue("alice").token();
+
+        assertTrue(tokenService.verify(token.substring(0, token.length() - 2) + "xx").isEmpty());
+        assertTrue(tokenService.verify(forged).isEmpty());
+        assertTrue(tokenService.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    void verify_ShouldRejectExpiredToken() {
+        String token = tokenService.issue("alice").token();
+        TokenService later = new TokenService("test-secret", Duration.ofMinutes(15),
+                Clock.fixed(NOW.plus(Duration.ofMinutes(16)), ZoneOffset.UTC));
+
+        assertTrue(later.verify(token).isEmpty());
+    }
+
+    @Test
+    void revoke_ShouldRejectTokenBeforeItExpires() {
+        String token = tokenService.issue("alice").token();
+
+        assertTrue(tokenService.revoke(token));
+        assertTrue(tokenService.verify(token).isEmpty());
+    }
+}
@@ -0,0 +1,116 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.dto.UploadJobDTO;
+import com.synchrony.userprofileintegration.model.Image;
+import com.synchrony.userprofileintegration.service.ImageService;
+import com.synchrony.userprofileintegration.service.UploadJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+class UploadJobServiceTest {
+
+    @Mock
+    private ImageService imageService;
+
+    private final MockMultipartFile file = new MockMultipartFile("file", "cat.png", "image/png", new byte[]{1, 2, 3});
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void submit_ShouldReportDoneWithImageWhenUploadSucceeds() throws Exception {
+        Image image = new Image();
+        image.setId(7L);
+        image.setLink("https://i.imgur.com/cat.png");
+        image.setDeleteHash("hash");
+        given(imageService.uploadImage(eq("alice"), any(Resource.class))).willReturn(image);
+        UploadJobService service = new UploadJobService(imageService, new SyncTaskExecutor(), Duration.ofHours(1));
+
+        UploadJobDTO submitted = service.submit("alice", file);
+        UploadJobDTO job = service.findJob("alice", submitted.getJobId()).orElseThrow();
+
+        assertEquals(UploadJobDTO.Status.DONE, job.getStatus());
+        assertEquals(7L, job.getImage().getId());
+        assertTrue(service.findJob("bob", submitted.getJobId()).isEmpty());
+    }
+
+    @Test
+    void submit_ShouldReportFailedWhenUploadFails() throws Exception {
+        given(imageService.uploadImage(eq("alice"), any(Resource.class))).willReturn(null);
+        UploadJobService service = new UploadJobService(imageService, new SyncTaskExecutor(), Duration.ofHours(1));
+
+        UploadJobDTO submitted = service.submit("alice", file);
+
+        assertEquals(UploadJobDTO.Status.FAILED, service.findJob("alice", submitted.getJobId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void submit_ShouldRejectWhenExecutorIsFullAndDeleteTheStagedFile() throws Exception {
+        TaskExecutor fullExecutor = task -> {
+            throw new TaskRejectedException("full");
+        };
+        UploadJobService service = new UploadJobService(imageService, fullExecutor, Duration.ofHours(1));
+        MultipartFile staging = mock(MultipartFile.class);
+        AtomicReference<Path> staged = new AtomicReference<>();
+        willAnswer(invocation -> {
+            staged.set(invocation.getArgument(0));
+            file.transferTo(staged.get());
+            return null;
+        }).given(staging).transferTo(any(Path.class));
+
+        assertThrows(TaskRejectedException.class, () -> service.submit("alice", staging));
+        assertFalse(Files.exists(staged.get()));
+    }
+
+    @Test
+    void submit_ShouldDeleteTheStagedFileWhenStagingFails() throws Exception {
+        UploadJobService service = new UploadJobService(imageService, new SyncTaskExecutor(), Duration.ofHours(1));
+        MultipartFile broken = mock(MultipartFile.class);
+        AtomicReference<Path> staged = new AtomicReference<>();
+        willAnswer(invocation -> {
+            staged.set(invocation.getArgument(0));
+            throw new IOException("client went away");
+        }).given(broken).transferTo(any(Path.class));
+
+        assertThrows(IOException.class, () -> service.submit("alice", broken));
+        assertFalse(Files.exists(staged.get()));
+    }
+
+    @Test
+    void finishedJobs_ShouldExpireAfterTheRetentionWhilePendingJobsStay() throws Exception {
+        given(imageService.uploadImage(eq("alice"), any(Resource.class))).willReturn(null);
+        UploadJobService finishing = new UploadJobService(imageService, new SyncTaskExecutor(), Duration.ofMillis(50));
+        UploadJobService pending = new UploadJobService(imageService, task -> { }, Duration.ofMillis(50));
+
+        UploadJobDTO finished = finishing.submit("alice", file);
+        UploadJobDTO queued = pending.submit("alice", file);
+        assertTrue(finishing.findJob("alice", finished.getJobId()).isPresent());
+        Thread.sleep(200);
+
+        assertTrue(finishing.findJob("alice", finished.getJobId()).isEmpty());
+        assertEquals(UploadJobDTO.Status.PENDING, pending.findJob("alice", queued.getJobId()).orElseThrow().getStatus());
+    }
+}
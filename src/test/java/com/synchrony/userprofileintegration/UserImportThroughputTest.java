@@ -0,0 +1,89 @@
+package com.synchrony.userprofileintegration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synchrony.userprofileintegration.config.PasswordHashingConfig;
+import com.synchrony.userprofileintegration.dto.UserImportSummaryDTO;
+import com.synchrony.userprofileintegration.repository.UserRepository;
+import com.synchrony.userprofileintegration.service.UserImportService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Chunks commit on their own, as they do in production, instead of joining a test transaction.
+// Minimum BCrypt cost, so the test measures the import pipeline rather than BCrypt itself.
+@DataJpaTest(properties = "password.hashing.bcrypt-cost=4")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({UserImportService.class, PasswordHashingConfig.class, UserImportThroughputTest.Config.class})
+class UserImportThroughputTest {
+
+    private static final int USERS = 5_000;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void importUsers_ShouldStreamNdjsonAndReportFailures() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < USERS; i++) {
+            ndjson.append("{\"username\":\"ndjson-user-").append(i).append("\",\"password\":\"secret-").append(i).append("\"}\n");
+        }
+        ndjson.append("{\"username\":\"ndjson-user-7\",\"password\":\"again\"}\n");
+        ndjson.append("not json\n");
+        long before = userRepository.count();
+
+        long start = System.nanoTime();
+        UserImportSummaryDTO summary = userImportService.importUsers(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), UserImportService.Format.NDJSON);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Imported %d users in %.2f s (%.0f users/s)%n", summary.getImportedCount(), seconds,
+                summary.getImportedCount() / seconds);
+        assertEquals(USERS, summary.getImportedCount());
+        assertEquals(2, summary.getFailedCount());
+        assertTrue(summary.getFailures().contains(
+                new UserImportSummaryDTO.Failure(USERS + 1, "ndjson-user-7", "Username already exists")));
+        assertTrue(summary.getFailures().contains(new UserImportSummaryDTO.Failure(USERS + 2, null, "Malformed line")));
+        assertEquals(before + USERS, userRepository.count());
+    }
+
+    @Test
+    void importUsers_ShouldSkipCsvHeaderAndKeepCommasInPasswords() throws Exception {
+        String csv = "username,password\ncsv-alice,pa,ss\n,missing-name\ncsv-bob,secret\n";
+
+        UserImportSummaryDTO summary = userImportService.importUsers(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), UserImportService.Format.CSV);
+
+        assertEquals(2, summary.getImportedCount());
+        assertEquals(1, summary.getFailedCount());
+        String hash = userRepository.findByUsername("csv-alice").orElseThrow().getPassword();
+        assertTrue(PasswordHashingConfig.delegatingPasswordEncoder(4).matches("pa,ss", hash));
+    }
+}
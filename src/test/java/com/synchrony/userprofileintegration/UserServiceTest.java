@@ -4,16 +4,20 @@ package com.synchrony.userprofileintegration;
 import com.synchrony.userprofileintegration.model.User;
 import com.synchrony.userprofileintegration.repository.UserRepository;
 import com.synchrony.userprofileintegration.service.UserService;
+import com.synchrony.userprofileintegration.service.UsernameFilter;
 import exception.UserNotFoundException;
+import exception.UsernameTakenException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.*;
 
 class UserServiceTest {
@@ -24,12 +28,16 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UsernameFilter usernameFilter;
+
     @InjectMocks
     private UserService userService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        given(usernameFilter.mightExist(anyString())).willReturn(true);
     }
 
     @Test
@@ -39,7 +47,7 @@ class UserServiceTest {
         user.setPassword("rawPassword");
 
         given(passwordEncoder.encode("rawPassword")).willReturn("encodedPassword");
-        given(userRepository.save(any(User.class))).willAnswer(invocation -> {
+        given(userRepository.saveAndFlush(any(User.class))).willAnswer(invocation -> {
             User saved = invocation.getArgument(0);
             saved.setId(1L);
             return saved;
@@ -49,7 +57,7 @@ class UserServiceTest {
 
         assertNotNull(result.getId());
         assertEquals("encodedPassword", result.getPassword());
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -68,9 +76,44 @@ class UserServiceTest {
     }
 
     @Test
-    void findByUsername_ShouldThrowExceptionIfNotFound() {
+    void findByUsername_ShouldReturnEmptyIfNotFound() {
         given(userRepository.findByUsername("charlie")).willReturn(Optional.empty());
-        assertThrows(UserNotFoundException.class, () -> userService.findByUsername("charlie"));
+        assertTrue(userService.findByUsername("charlie").isEmpty());
+    }
+
+    @Test
+    void lookups_ShouldNotQueryForUsernamesTheFilterRulesOut() {
+        given(usernameFilter.mightExist("dave")).willReturn(false);
+
+        assertTrue(userService.findByUsername("dave").isEmpty());
+        UserNotFoundException e = assertThrows(UserNotFoundException.class, () -> userService.findIdByUsername("dave"));
+        assertEquals(0, e.getStackTrace().length);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void registerUser_ShouldRejectATakenUsernameBeforeHashing() {
+        User user = new User();
+        user.setUsername("erin");
+        user.setPassword("rawPassword");
+        given(userRepository.findIdByUsername("erin")).willReturn(Optional.of(1L));
+
+        assertThrows(UsernameTakenException.class, () -> userService.registerUser(user));
+        verifyNoInteractions(passwordEncoder);
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void registerUser_ShouldReportAConcurrentRegistrationAsTaken() {
+        User user = new User();
+        user.setUsername("frank");
+        user.setPassword("rawPassword");
+        given(passwordEncoder.encode("rawPassword")).willReturn("encodedPassword");
+        given(userRepository.findIdByUsername("frank")).willReturn(Optional.empty(), Optional.of(2L));
+        given(userRepository.saveAndFlush(any(User.class)))
+                .willThrow(new DataIntegrityViolationException("unique constraint on username"));
+
+        assertThrows(UsernameTakenException.class, () -> userService.registerUser(user));
     }
 
 }
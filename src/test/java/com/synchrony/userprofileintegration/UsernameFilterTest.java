@@ -0,0 +1,128 @@
+package com.synchrony.userprofileintegration;
+
+import com.synchrony.userprofileintegration.model.User;
+import com.synchrony.userprofileintegration.repository.UserRepository;
+import com.synchrony.userprofileintegration.service.TokenService;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Probes profiles of usernames that do not exist, with and without the username Bloom filter, and compares
+ * the database queries they cost and the rate at which they are answered.
+ * Requests authenticate with a bearer token, which needs no query of its own.
+ */
+@SpringBootTest(properties = {
+        "imgur.client-id=test-client",
+        "imgur.client-secret=test-secret",
+        "imgur.upload-url=http://localhost:1/upload",
+        "imgur.delete-url=http://localhost:1/delete/",
+        "password.hashing.bcrypt-cost=4",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class UsernameFilterTest {
+
+    private static final Logger logger = LogManager.getLogger(UsernameFilterTest.class);
+    private static final int PROBES = 2_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void unknownUsernames_ShouldBeAnsweredWithoutQueries() throws Exception {
+        assertEquals(0, probeUnknownUsernames(mockMvc, tokenService, entityManagerFactory, "with the filter"));
+
+        // A user inserted after startup is added to the filter by the insert itself
+        String username = "late-" + UUID.randomUUID();
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("hash");
+        userRepository.save(user);
+        mockMvc.perform(get("/api/users/{username}", username).header(HttpHeaders.AUTHORIZATION, bearer(tokenService)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void register_ShouldAnswerATakenUsernameWith409() throws Exception {
+        String body = "{\"username\":\"taken-" + UUID.randomUUID() + "\",\"password\":\"secret\"}";
+        mockMvc.perform(post("/api/register").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/register").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict());
+    }
+
+    @Nested
+    @TestPropertySource(properties = "users.filter.enabled=false")
+    class WithoutFilter {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private TokenService tokenService;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Test
+        void unknownUsernames_ShouldEachCostAQuery() throws Exception {
+            assertEquals(PROBES, probeUnknownUsernames(mockMvc, tokenService, entityManagerFactory, "without the filter"));
+        }
+    }
+
+    /**
+     * Requests the profiles of PROBES usernames that do not exist and logs the rate at which they are answered.
+     *
+     * @return the number of queries the probes executed.
+     */
+    private static long probeUnknownUsernames(MockMvc mockMvc, TokenService tokenService,
+                                              EntityManagerFactory entityManagerFactory, String mode) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String authorization = bearer(tokenService);
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < PROBES; i++) {
+            mockMvc.perform(get("/api/users/{username}", "probe-" + UUID.randomUUID())
+                            .header(HttpHeaders.AUTHORIZATION, authorization))
+                    .andExpect(status().isNotFound());
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        long queries = statistics.getQueryExecutionCount();
+        logger.info("{} unknown-user probes {}: {} queries, {} probes/s", PROBES, mode, queries,
+                PROBES * 1000 / Math.max(elapsed.toMillis(), 1));
+        return queries;
+    }
+
+    private static String bearer(TokenService tokenService) {
+        return "Bearer " + tokenService.issue("probe-client").token();
+    }
+}
@@ -0,0 +1,132 @@
+package com.synchrony.userprofileintegration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares how many uploads can wait on Imgur at once with requests handled on platform threads
+ * and on virtual threads. Tomcat gets the same small thread pool in both modes, and every other
+ * limit on concurrent Imgur calls is raised well above it, so the pool is the only ceiling.
+ * Runs under the java21 and load profiles: mvn -P java21,load test.
+ */
+@Tag("load")
+class VirtualThreadScalingTest {
+
+    private static final Logger logger = LogManager.getLogger(VirtualThreadScalingTest.class);
+
+    private static final int TOMCAT_THREADS = 50;
+    private static final int CONCURRENT_UPLOADS = 400;
+    private static final Duration IMGUR_LATENCY = Duration.ofSeconds(1);
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void virtualThreads_ShouldKeepMoreUploadsInFlightThanTheRequestThreadPool() throws Exception {
+        try (ImgurStub imgur = ImgurStub.start()) {
+            imgur.latency(IMGUR_LATENCY);
+
+            Result platform = burst(imgur, false);
+            Result virtual = burst(imgur, true);
+
+            logger.info("{} concurrent uploads, {} Tomcat threads, {} ms Imgur latency:\n"
+                            + "  platform threads: {} in flight at most, {} ms\n"
+                            + "  virtual threads:  {} in flight at most, {} ms",
+                    CONCURRENT_UPLOADS, TOMCAT_THREADS, IMGUR_LATENCY.toMillis(),
+                    platform.maxInFlight(), platform.elapsed().toMillis(),
+                    virtual.maxInFlight(), virtual.elapsed().toMillis());
+            assertTrue(platform.maxInFlight() <= TOMCAT_THREADS);
+            assertTrue(virtual.maxInFlight() > 2 * TOMCAT_THREADS,
+                    "only " + virtual.maxInFlight() + " uploads were in flight on virtual threads");
+            assertTrue(virtual.elapsed().compareTo(platform.elapsed()) < 0);
+        }
+    }
+
+    /**
+     * Starts the application in the given mode and sends all uploads at once.
+     * Settings are passed as command line arguments so they take precedence over application.properties.
+     */
+    private Result burst(ImgurStub imgur, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(UserProfileIntegrationApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:scaling-" + virtualThreads,
+                        "--imgur.client-id=load-test",
+                        "--imgur.client-secret=load-test",
+                        "--imgur.upload-url=" + imgur.uploadUrl(),
+                        "--imgur.delete-url=" + imgur.deleteUrl(),
+                        "--imgur.http.max-connections=1000",
+                        "--imgur.http.max-connections-per-route=1000",
+                        "--imgur.resilience.max-concurrent-calls=1000",
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--password.hashing.bcrypt-cost=4",
+                        "--threads.virtual.enabled=" + virtualThreads)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String username = "scaling-" + UUID.randomUUID();
+            String token = registerAndLogin(baseUrl, username);
+
+            imgur.resetMaxInFlight();
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<String>>> uploads = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_UPLOADS; i++) {
+                uploads.add(httpClient.sendAsync(upload(baseUrl, username, token), HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> upload : uploads) {
+                assertEquals(200, upload.join().statusCode());
+            }
+            return new Result(imgur.maxInFlight(), Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private String registerAndLogin(String baseUrl, String username) throws Exception {
+        String credentials = "{\"username\":\"" + username + "\",\"password\":\"scaling-password\"}";
+        httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials)).build(), HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> login = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials)).build(), HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(login.body()).path("accessToken").asText();
+    }
+
+    private static HttpRequest upload(String baseUrl, String username, String token) {
+        String boundary = UUID.randomUUID().toString();
+        byte[] image = new byte[1024];
+        ThreadLocalRandom.current().nextBytes(image);
+        byte[] head = ("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"cat.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[head.length + image.length + tail.length];
+        System.arraycopy(head, 0, body, 0, head.length);
+        System.arraycopy(image, 0, body, head.length, image.length);
+        System.arraycopy(tail, 0, body, head.length + image.length, tail.length);
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/" + username + "/images"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .timeout(Duration.ofMinutes(1))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private record Result(int maxInFlight, Duration elapsed) {
+    }
+}